@@ -0,0 +1,139 @@
+package com.bookapp.benchmarks;
+
+import com.bookapp.core.domain.Book;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Генератор синтетичного каталогу для бенчмарків.
+ *
+ * Словник росте приблизно як корінь з кількості книг (закон Хіпса),
+ * частоти слів у назвах розподілені за Ципфом - як у реальних назвах.
+ */
+public final class SyntheticCatalog {
+
+    private static final String[] SYLLABLES = {
+            "ja", "va", "co", "de", "cle", "an", "ar", "chi", "tec", "tu", "re",
+            "pro", "gram", "ming", "da", "ta", "ba", "se", "al", "go", "rith", "ms",
+            "ko", "bza", "ta", "ras", "shev", "chen", "ko", "lu", "ne", "mi", "ra",
+            "sys", "tem", "net", "work", "cur", "ren", "cy", "func", "tion", "ma", "ly"
+    };
+
+    private final Random random;
+    private final String[] vocabulary;
+    private final String[] authors;
+    private final double[] zipf;
+
+    public SyntheticCatalog(int books, long seed) {
+        this.random = new Random(seed);
+        this.vocabulary = words((int) Math.max(500, 30 * Math.sqrt(books)));
+        this.authors = names(Math.max(100, books / 20));
+        this.zipf = zipfCumulative(vocabulary.length);
+    }
+
+    public List<Book> books(int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            books.add(book(i));
+        }
+        return books;
+    }
+
+    public Book book(long id) {
+        int words = 2 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                title.append(' ');
+            }
+            String word = zipfWord();
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        String author = authors[random.nextInt(authors.length)];
+        return new Book(id, title.toString(), author, null, 1950 + random.nextInt(75));
+    }
+
+    public String[] getVocabulary() {
+        return vocabulary;
+    }
+
+    public String[] getAuthors() {
+        return authors;
+    }
+
+    /**
+     * Слово з однією випадковою помилкою (заміна, вставка або видалення символу)
+     */
+    public String misspell(String word) {
+        int position = random.nextInt(word.length());
+        char letter = (char) ('a' + random.nextInt(26));
+        switch (random.nextInt(3)) {
+            case 0:
+                return word.substring(0, position) + letter + word.substring(position + 1);
+            case 1:
+                return word.substring(0, position) + letter + word.substring(position);
+            default:
+                return word.length() > 4 ? word.substring(0, position) + word.substring(position + 1) : word + letter;
+        }
+    }
+
+    public String randomWord() {
+        return vocabulary[random.nextInt(vocabulary.length)];
+    }
+
+    private String zipfWord() {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = zipf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (zipf[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return vocabulary[low];
+    }
+
+    private String[] words(int count) {
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < count) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private String[] names(int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            String first = words(1)[0];
+            String last = words(1)[0];
+            names[i] = Character.toUpperCase(first.charAt(0)) + first.substring(1) + " "
+                    + Character.toUpperCase(last.charAt(0)) + last.substring(1);
+        }
+        return names;
+    }
+
+    private static double[] zipfCumulative(int n) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+}
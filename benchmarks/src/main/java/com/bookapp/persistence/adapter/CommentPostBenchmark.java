@@ -0,0 +1,187 @@
+package com.bookapp.persistence.adapter;
+
+import com.bookapp.core.port.CommentRepositoryPort;
+import com.bookapp.persistence.entity.BookEntity;
+import com.bookapp.persistence.entity.CommentEntity;
+import com.bookapp.persistence.entity.UserEntity;
+import com.bookapp.persistence.recommend.CommentCoOccurrenceIndex;
+import com.bookapp.persistence.repository.BookRepository;
+import com.bookapp.persistence.repository.CommentRepository;
+import com.bookapp.persistence.repository.UserRepository;
+import com.bookapp.persistence.stats.BookStatsStore;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Додавання коментаря залежно від кількості користувачів: попередній варіант
+ * (findAll() по всіх користувачах + findById книги) порівняно з addComment адаптера
+ * (кешований id за іменем + getReference, один INSERT).
+ *
+ * Запуск (коментарів за секунду):
+ * mvn -Pbench -DskipTests package && java -jar benchmarks/target/benchmarks.jar CommentPost
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CommentPostBenchmark {
+
+    private static final int BOOKS = 1_000;
+    private static final int INSERT_BATCH = 10_000;
+    // Коментують переважно активні користувачі - саме для них і працює кеш id
+    private static final int ACTIVE_AUTHORS = 1_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int users;
+
+    private AnnotationConfigApplicationContext context;
+    private CommentRepositoryPort adapter;
+    private BookRepository bookRepository;
+    private UserRepository userRepository;
+    private CommentRepository commentRepository;
+    private TransactionTemplate transaction;
+    private long[] bookIds;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        adapter = context.getBean(CommentRepositoryPort.class);
+        bookRepository = context.getBean(BookRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        commentRepository = context.getBean(CommentRepository.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<Object[]> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(new Object[]{"Book " + i, "Author " + i});
+        }
+        jdbc.batchUpdate("INSERT INTO books (title, author) VALUES (?, ?)", books);
+        bookIds = jdbc.queryForList("SELECT id FROM books", Long.class).stream().mapToLong(Long::longValue).toArray();
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < users; i++) {
+            batch.add(new Object[]{"bench-user-" + i});
+            if (batch.size() == INSERT_BATCH || i == users - 1) {
+                jdbc.batchUpdate("INSERT INTO users (username, password, role) VALUES (?, 'x', 'USER')", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private String nextAuthor() {
+        return "bench-user-" + random.nextInt(Math.min(users, ACTIVE_AUTHORS));
+    }
+
+    private long nextBookId() {
+        return bookIds[random.nextInt(bookIds.length)];
+    }
+
+    /**
+     * Як було: усі користувачі в пам'ять на кожен коментар
+     */
+    @Benchmark
+    public Long scanAllUsers() {
+        String author = nextAuthor();
+        long bookId = nextBookId();
+        return transaction.execute(status -> {
+            BookEntity book = bookRepository.findById(bookId).orElseThrow();
+            UserEntity user = userRepository.findAll().stream()
+                    .filter(u -> u.getUsername().equals(author))
+                    .findFirst()
+                    .orElseThrow();
+            return commentRepository.save(new CommentEntity(book, user, "text", LocalDateTime.now())).getId();
+        });
+    }
+
+    /**
+     * Кешований id автора та посилання на книгу й користувача
+     */
+    @Benchmark
+    public Long cachedReference() {
+        return adapter.addComment(nextBookId(), nextAuthor(), "text").getId();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = BookRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:comment-bench;DB_CLOSE_DELAY=-1", "sa", "");
+            Flyway.configure().dataSource(dataSource).load().migrate();
+            return dataSource;
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(BookEntity.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        CommentRepositoryAdapter commentRepositoryAdapter(CommentRepository commentRepository,
+                                                          BookRepository bookRepository,
+                                                          UserRepository userRepository,
+                                                          JdbcTemplate jdbcTemplate,
+                                                          PlatformTransactionManager transactionManager) {
+            return new CommentRepositoryAdapter(commentRepository, bookRepository, userRepository,
+                    jdbcTemplate, List.of(), new BookStatsStore(jdbcTemplate, transactionManager, 1000),
+                    new CommentCoOccurrenceIndex(jdbcTemplate, transactionManager, 1), 10_000, 600_000);
+        }
+    }
+}
\ No newline at end of file
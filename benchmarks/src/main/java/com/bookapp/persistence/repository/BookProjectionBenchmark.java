@@ -0,0 +1,141 @@
+package com.bookapp.persistence.repository;
+
+import com.bookapp.benchmarks.SyntheticCatalog;
+import com.bookapp.core.domain.Book;
+import com.bookapp.persistence.entity.BookEntity;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Читання сторінки каталогу: керовані BookEntity з копіюванням у Book
+ * порівняно з проекцією SELECT new Book(...) одразу в доменний об'єкт.
+ *
+ * Запуск з профілем алокацій (gc.alloc.rate.norm - байтів на сторінку):
+ * mvn -Pbench -DskipTests package && java -jar benchmarks/target/benchmarks.jar BookProjection -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class BookProjectionBenchmark {
+
+    private static final int BOOKS = 20_000;
+    private static final int PAGES = 100;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private AnnotationConfigApplicationContext context;
+    private BookRepository bookRepository;
+    private TransactionTemplate readOnly;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        bookRepository = context.getBean(BookRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Object[]> rows = new SyntheticCatalog(BOOKS, 42).books(BOOKS).stream()
+                .map(book -> new Object[]{book.getTitle(), book.getAuthor(), book.getIsbn(), book.getYear()})
+                .collect(Collectors.toList());
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO books (title, author, isbn, publish_year) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private PageRequest nextPage() {
+        next = (next + 1) % PAGES;
+        return PageRequest.of(next, pageSize, Sort.by("title", "id"));
+    }
+
+    /**
+     * Як раніше: сутності в контексті персистентності, потім копія в Book
+     */
+    @Benchmark
+    public List<Book> entityPage() {
+        PageRequest page = nextPage();
+        return readOnly.execute(status -> bookRepository.findAll(page).getContent().stream()
+                .map(entity -> new Book(entity.getId(), entity.getTitle(), entity.getAuthor(),
+                        entity.getIsbn(), entity.getYear()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Проекція: лише п'ять колонок одразу в Book
+     */
+    @Benchmark
+    public List<Book> projectionPage() {
+        PageRequest page = nextPage();
+        return readOnly.execute(status -> bookRepository.findBookPage(page).getContent());
+    }
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = BookRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1", "sa", "");
+            Flyway.configure().dataSource(dataSource).load().migrate();
+            return dataSource;
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(BookEntity.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
\ No newline at end of file
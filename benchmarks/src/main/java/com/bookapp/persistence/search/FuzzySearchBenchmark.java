@@ -0,0 +1,116 @@
+package com.bookapp.persistence.search;
+
+import com.bookapp.benchmarks.SyntheticCatalog;
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.SortSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вартість нечіткого пошуку через BK-дерево словника порівняно з попарним
+ * порівнянням запиту з кожним словом кожної назви.
+ *
+ * Запуск: mvn -Pbench -DskipTests package && java -jar benchmarks/target/benchmarks.jar FuzzySearch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FuzzySearchBenchmark {
+
+    private static final int QUERIES = 256;
+    private static final SortSpec BY_TITLE = SortSpec.byTitle();
+
+    @Param({"100000", "1000000"})
+    public int titles;
+
+    private BookSearchIndex index;
+    private BkTree vocabulary;
+    private String[][] titleTokens;
+    private String[] misspelled;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SyntheticCatalog catalog = new SyntheticCatalog(titles, 42);
+        List<Book> books = catalog.books(titles);
+
+        index = new BookSearchIndex(null);
+        vocabulary = new BkTree();
+        titleTokens = new String[books.size()][];
+        for (int i = 0; i < books.size(); i++) {
+            Book book = books.get(i);
+            index.index(book);
+            titleTokens[i] = BookSearchIndex.tokenize(book.getTitle()).toArray(new String[0]);
+            for (String token : titleTokens[i]) {
+                vocabulary.add(token);
+            }
+        }
+
+        misspelled = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            misspelled[i] = catalog.misspell(catalog.randomWord());
+        }
+    }
+
+    private String nextQuery() {
+        next = (next + 1) % QUERIES;
+        return misspelled[next];
+    }
+
+    /**
+     * Лише пошук слів словника в радіусі 2
+     */
+    @Benchmark
+    public List<String> bkTreeLookup() {
+        return vocabulary.search(nextQuery(), 2);
+    }
+
+    /**
+     * Повний нечіткий пошук: BK-дерево, об'єднання списків та сортування результатів
+     */
+    @Benchmark
+    public long[] fuzzySearch() {
+        return index.search(nextQuery(), BY_TITLE, true);
+    }
+
+    /**
+     * Точний пошук за префіксом - для порівняння
+     */
+    @Benchmark
+    public long[] prefixSearch() {
+        return index.search(nextQuery(), BY_TITLE, false);
+    }
+
+    /**
+     * Базовий варіант без індексу: відстань до кожного слова кожної назви
+     */
+    @Benchmark
+    public void pairwiseScan(Blackhole blackhole) {
+        String query = nextQuery();
+        int maxDistance = BookSearchIndex.fuzzyDistance(query);
+        for (String[] tokens : titleTokens) {
+            for (String token : tokens) {
+                if (BkTree.distance(token, query) <= maxDistance) {
+                    blackhole.consume(token);
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.bookapp.core.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Обмежений кеш у пам'яті: витіснення найдавніше використаних записів (LRU)
+ * при перевищенні розміру та застарілих - після закінчення TTL.
+ *
+ * Значення обчислюється поза блокуванням, тому повільний запит до БД
+ * не блокує читання інших ключів. Результат, обчислений до invalidateAll(),
+ * у кеш уже не потрапляє.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BoundedCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::nanoTime);
+    }
+
+    /**
+     * @param clock джерело часу в наносекундах (для тестів)
+     */
+    public BoundedCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Значення з кешу або обчислене loader'ом (null не кешується)
+     */
+    public V get(K key, Supplier<V> loader) {
+        long expectedGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (clock.getAsLong() - entry.createdAt < ttlNanos) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+            expectedGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        V value = loader.get();
+        if (value == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            if (generation == expectedGeneration) {
+                entries.put(key, new Entry<>(value, clock.getAsLong()));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Запис значення, обчисленого поза кешем (наприклад, після коміту транзакції)
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.getAsLong()));
+        evictOverflow();
+    }
+
+    /**
+     * Видалення одного запису; решта кешу лишається
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), maxSize);
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAt;
+
+        private Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.bookapp.core.cache;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.BookFilter;
+import com.bookapp.core.domain.CursorPage;
+import com.bookapp.core.domain.CursorPageRequest;
+import com.bookapp.core.domain.FacetedPage;
+import com.bookapp.core.domain.Facets;
+import com.bookapp.core.domain.Page;
+import com.bookapp.core.domain.PageCursor;
+import com.bookapp.core.domain.PageRequest;
+import com.bookapp.core.domain.Slice;
+import com.bookapp.core.domain.SortSpec;
+import com.bookapp.core.domain.Suggestion;
+import com.bookapp.core.port.CatalogRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Декоратор порту каталогу з кешем результатів пошуку.
+ *
+ * Кешуються лише списки книг, кількість та фасети за ключем (режим, запит, сторінка/фільтр, розмір, сортування).
+ * Списки несуть лічильники коментарів і переглядів, тому живуть в окремому кеші з коротким TTL;
+ * списки, впорядковані за статистикою, не кешуються зовсім - порядок змінює кожен коментар.
+ * Будь-яка зміна каталогу через порт повністю очищає обидва кеші.
+ */
+public class CachingCatalogRepository implements CatalogRepositoryPort {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingCatalogRepository.class);
+
+    private final CatalogRepositoryPort delegate;
+    private final BoundedCache<SearchKey, Object> cache;
+    private final BoundedCache<SearchKey, Object> lists;
+
+    public CachingCatalogRepository(CatalogRepositoryPort delegate, int maxSize, long ttlMillis, long listTtlMillis) {
+        this(delegate, new BoundedCache<>(maxSize, ttlMillis), new BoundedCache<>(maxSize, listTtlMillis));
+    }
+
+    /**
+     * @param cache кількість і фасети
+     * @param lists сторінки книг
+     */
+    public CachingCatalogRepository(CatalogRepositoryPort delegate, BoundedCache<SearchKey, Object> cache,
+                                    BoundedCache<SearchKey, Object> lists) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.lists = lists;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<Book> findBooks(String query, PageRequest pageRequest) {
+        SearchKey key = new SearchKey(pageRequest.isFuzzy() ? "page~" : "page", query, String.valueOf(pageRequest.getPage()),
+                pageRequest.getSize(), pageRequest.getSort());
+        return (Page<Book>) list(key, pageRequest.getSortSpec(), () -> delegate.findBooks(query, pageRequest));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CursorPage<Book> findBooks(String query, CursorPageRequest pageRequest) {
+        PageCursor cursor = pageRequest.getCursor();
+        String position = cursor == null ? "" : (pageRequest.isBackward() ? "<" : ">") + cursor.encode();
+        SearchKey key = new SearchKey("cursor", query, position, pageRequest.getSize(), pageRequest.getSort());
+        return (CursorPage<Book>) list(key, pageRequest.getSortSpec(), () -> delegate.findBooks(query, pageRequest));
+    }
+
+    @Override
+    public boolean supportsCursorSearch() {
+        return delegate.supportsCursorSearch();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Slice<Book> findBookSlice(String query, PageRequest pageRequest) {
+        SearchKey key = new SearchKey(pageRequest.isFuzzy() ? "slice~" : "slice", query, String.valueOf(pageRequest.getPage()),
+                pageRequest.getSize(), pageRequest.getSort());
+        return (Slice<Book>) list(key, pageRequest.getSortSpec(), () -> delegate.findBookSlice(query, pageRequest));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FacetedPage<Book> findBooks(String query, BookFilter filter, PageRequest pageRequest) {
+        SearchKey key = new SearchKey(pageRequest.isFuzzy() ? "facets~" : "facets", query,
+                pageRequest.getPage() + "|" + filter, pageRequest.getSize(), pageRequest.getSort());
+        return (FacetedPage<Book>) list(key, pageRequest.getSortSpec(), () -> delegate.findBooks(query, filter, pageRequest));
+    }
+
+    @Override
+    public Facets countFacets(String query, BookFilter filter) {
+        SearchKey key = new SearchKey("facet-counts", query, filter.toString(), 0, "");
+        return (Facets) cache.get(key, () -> delegate.countFacets(query, filter));
+    }
+
+    @Override
+    public long countBooks(String query) {
+        SearchKey key = new SearchKey("count", query, "", 0, "");
+        return (Long) cache.get(key, () -> delegate.countBooks(query));
+    }
+
+    /**
+     * Автодоповнення і так обслуговується з пам'яті - не кешуємо
+     */
+    @Override
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return delegate.suggest(prefix, limit);
+    }
+
+    @Override
+    public Optional<Book> findBookById(Long id) {
+        return delegate.findBookById(id);
+    }
+
+    @Override
+    public List<Book> saveAll(List<Book> books) {
+        List<Book> saved = delegate.saveAll(books);
+        invalidate();
+        return saved;
+    }
+
+    @Override
+    public long exportBooks(Consumer<Book> consumer) {
+        return delegate.exportBooks(consumer);
+    }
+
+    @Override
+    public Book save(Book book) {
+        Book saved = delegate.save(book);
+        invalidate();
+        return saved;
+    }
+
+    /**
+     * Очищення кешу після зміни каталогу
+     */
+    public void invalidate() {
+        cache.invalidateAll();
+        lists.invalidateAll();
+        log.debug("Catalog search cache invalidated");
+    }
+
+    /**
+     * Сумарна статистика обох кешів
+     */
+    public CacheStats stats() {
+        CacheStats counts = cache.stats();
+        CacheStats pages = lists.stats();
+        return new CacheStats(counts.getHits() + pages.getHits(), counts.getMisses() + pages.getMisses(),
+                counts.getEvictions() + pages.getEvictions(), counts.getSize() + pages.getSize(),
+                counts.getMaxSize() + pages.getMaxSize());
+    }
+
+    private Object list(SearchKey key, SortSpec sortSpec, Supplier<Object> loader) {
+        if (sortSpec.hasStatisticKey()) {
+            return loader.get();
+        }
+        return lists.get(key, loader);
+    }
+
+    /**
+     * Ключ кешу. Запит не нормалізується: рушії пошуку по-різному трактують регістр і пробіли
+     */
+    public static final class SearchKey {
+        private final String mode;
+        private final String query;
+        private final String position;
+        private final int size;
+        private final String sort;
+
+        SearchKey(String mode, String query, String position, int size, String sort) {
+            this.mode = mode;
+            this.query = query == null ? "" : query;
+            this.position = position;
+            this.size = size;
+            this.sort = sort;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SearchKey)) return false;
+            SearchKey that = (SearchKey) o;
+            return size == that.size
+                    && mode.equals(that.mode)
+                    && query.equals(that.query)
+                    && position.equals(that.position)
+                    && sort.equals(that.sort);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mode, query, position, size, sort);
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.bookapp.core.domain;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 public class Book {
@@ -8,13 +9,30 @@ public class Book {
     private final String author;
     private final String isbn;
     private final Integer year;
+    private final long commentCount;
+    private final LocalDateTime lastCommentAt;
+    private final long viewCount;
 
     public Book(Long id, String title, String author, String isbn, Integer year) {
+        this(id, title, author, isbn, year, null, null, null);
+    }
+
+    /**
+     * Статистику коментарів заповнюють списки каталогу; книга, прочитана за id, її не містить
+     * @param commentCount кількість коментарів з таблиці book_stats; null - коментарів немає
+     * @param lastCommentAt час останнього коментаря або null
+     * @param viewCount збережена кількість переглядів; null - переглядів немає
+     */
+    public Book(Long id, String title, String author, String isbn, Integer year,
+                Long commentCount, LocalDateTime lastCommentAt, Long viewCount) {
         this.id = id;
         this.title = title;
         this.author = author;
         this.isbn = isbn;
         this.year = year;
+        this.commentCount = commentCount != null ? commentCount : 0;
+        this.lastCommentAt = lastCommentAt;
+        this.viewCount = viewCount != null ? viewCount : 0;
     }
 
     public Long getId() {
@@ -37,6 +55,18 @@ public class Book {
         return year;
     }
 
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public LocalDateTime getLastCommentAt() {
+        return lastCommentAt;
+    }
+
+    public long getViewCount() {
+        return viewCount;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,46 @@
+package com.bookapp.core.domain;
+
+import java.util.List;
+
+/**
+ * Дані сторінки книги: сама книга, перша порція коментарів (найновіші спочатку)
+ * та книги, які обговорювали ті самі читачі
+ */
+public class BookDetails {
+    private final Book book;
+    private final CursorPage<Comment> comments;
+    private final List<Book> alsoDiscussed;
+
+    public BookDetails(Book book, CursorPage<Comment> comments) {
+        this(book, comments, List.of());
+    }
+
+    public BookDetails(Book book, CursorPage<Comment> comments, List<Book> alsoDiscussed) {
+        this.book = book;
+        this.comments = comments;
+        this.alsoDiscussed = alsoDiscussed;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public List<Book> getAlsoDiscussed() {
+        return alsoDiscussed;
+    }
+
+    public List<Comment> getComments() {
+        return comments.getContent();
+    }
+
+    public boolean hasMoreComments() {
+        return comments.hasNext();
+    }
+
+    /**
+     * Курсор для завантаження наступної (старшої) порції коментарів або null
+     */
+    public String getNextCommentsCursor() {
+        return comments.getNextCursor();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.bookapp.core.domain;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Фасетний фільтр каталогу: автори, десятиліття видання та наявність ISBN.
+ * Значення в межах одного фасета об'єднуються (OR), різні фасети перетинаються (AND).
+ */
+public class BookFilter {
+    private final SortedSet<String> authors;
+    private final SortedSet<Integer> decades;
+    private final Boolean hasIsbn;
+
+    public BookFilter(Collection<String> authors, Collection<Integer> decades, Boolean hasIsbn) {
+        this.authors = authors == null ? Collections.emptySortedSet() : Collections.unmodifiableSortedSet(new TreeSet<>(authors));
+        this.decades = decades == null ? Collections.emptySortedSet() : Collections.unmodifiableSortedSet(new TreeSet<>(decades));
+        this.hasIsbn = hasIsbn;
+    }
+
+    public static BookFilter none() {
+        return new BookFilter(null, null, null);
+    }
+
+    public SortedSet<String> getAuthors() {
+        return authors;
+    }
+
+    /**
+     * @return перші роки десятиліть (1990 - це 1990-1999)
+     */
+    public SortedSet<Integer> getDecades() {
+        return decades;
+    }
+
+    /**
+     * @return true/false - з ISBN або без нього, null - без обмеження
+     */
+    public Boolean getHasIsbn() {
+        return hasIsbn;
+    }
+
+    public boolean isEmpty() {
+        return authors.isEmpty() && decades.isEmpty() && hasIsbn == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookFilter that = (BookFilter) o;
+        return authors.equals(that.authors) && decades.equals(that.decades) && Objects.equals(hasIsbn, that.hasIsbn);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(authors, decades, hasIsbn);
+    }
+
+    @Override
+    public String toString() {
+        return "BookFilter{authors=" + authors + ", decades=" + decades + ", hasIsbn=" + hasIsbn + "}";
+    }
+}
\ No newline at end of file
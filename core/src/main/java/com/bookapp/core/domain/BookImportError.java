@@ -0,0 +1,27 @@
+package com.bookapp.core.domain;
+
+/**
+ * Помилка імпорту окремого рядка
+ */
+public class BookImportError {
+    private final long lineNumber;
+    private final String message;
+
+    public BookImportError(long lineNumber, String message) {
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "line " + lineNumber + ": " + message;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.bookapp.core.domain;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Підсумок масового імпорту: кількість рядків, пропускна здатність та помилки по рядках.
+ * Список помилок обмежений, загальна кількість невдалих рядків - у failedRows.
+ */
+public class BookImportReport {
+    private final long totalRows;
+    private final long importedRows;
+    private final long failedRows;
+    private final long elapsedMillis;
+    private final List<BookImportError> errors;
+
+    public BookImportReport(long totalRows, long importedRows, long failedRows, long elapsedMillis,
+                            List<BookImportError> errors) {
+        this.totalRows = totalRows;
+        this.importedRows = importedRows;
+        this.failedRows = failedRows;
+        this.elapsedMillis = elapsedMillis;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return оброблених рядків за секунду
+     */
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? totalRows : totalRows * 1000 / elapsedMillis;
+    }
+
+    public List<BookImportError> getErrors() {
+        return errors;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.bookapp.core.domain;
+
+/**
+ * Рядок файлу імпорту книг у сирому вигляді, до валідації
+ */
+public class BookImportRow {
+    private final long lineNumber;
+    private final String title;
+    private final String author;
+    private final String isbn;
+    private final String year;
+
+    public BookImportRow(long lineNumber, String title, String author, String isbn, String year) {
+        this.lineNumber = lineNumber;
+        this.title = title;
+        this.author = author;
+        this.isbn = isbn;
+        this.year = year;
+    }
+
+    /**
+     * @return номер рядка у файлі (для звіту про помилки)
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public String getYear() {
+        return year;
+    }
+}
\ No newline at end of file
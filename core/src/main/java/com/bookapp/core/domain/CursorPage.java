@@ -0,0 +1,44 @@
+package com.bookapp.core.domain;
+
+import java.util.List;
+
+/**
+ * Сторінка keyset-пагінації: вміст та курсори для переходу вперед і назад
+ */
+public class CursorPage<T> {
+    private final List<T> content;
+    private final int pageSize;
+    private final String nextCursor;
+    private final String previousCursor;
+
+    public CursorPage(List<T> content, int pageSize, String nextCursor, String previousCursor) {
+        this.content = content;
+        this.pageSize = pageSize;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+}
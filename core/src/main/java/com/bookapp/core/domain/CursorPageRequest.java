@@ -0,0 +1,53 @@
+package com.bookapp.core.domain;
+
+/**
+ * Запит сторінки для keyset-пагінації: замість номера сторінки передається
+ * курсор елемента, після (after) або перед (before) яким починається сторінка
+ */
+public class CursorPageRequest {
+    private final int size;
+    private final SortSpec sort;
+    private final PageCursor cursor;
+    private final boolean backward;
+
+    public CursorPageRequest(int size, String sort, String after, String before) {
+        this.size = Math.min(100, Math.max(1, size));
+        this.sort = SortSpec.parse(sort);
+        if (before != null && !before.isEmpty()) {
+            this.cursor = PageCursor.decode(before);
+            this.backward = true;
+        } else if (after != null && !after.isEmpty()) {
+            this.cursor = PageCursor.decode(after);
+            this.backward = false;
+        } else {
+            this.cursor = null;
+            this.backward = false;
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return канонічне значення параметра sort
+     */
+    public String getSort() {
+        return sort.toString();
+    }
+
+    public SortSpec getSortSpec() {
+        return sort;
+    }
+
+    /**
+     * @return курсор або null для першої сторінки
+     */
+    public PageCursor getCursor() {
+        return cursor;
+    }
+
+    public boolean isBackward() {
+        return backward;
+    }
+}
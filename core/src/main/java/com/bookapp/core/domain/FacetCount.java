@@ -0,0 +1,37 @@
+package com.bookapp.core.domain;
+
+/**
+ * Значення фасета з кількістю книг, які залишаться після його вибору
+ */
+public class FacetCount {
+    private final String value;
+    private final String label;
+    private final long count;
+    private final boolean selected;
+
+    public FacetCount(String value, String label, long count, boolean selected) {
+        this.value = value;
+        this.label = label;
+        this.count = count;
+        this.selected = selected;
+    }
+
+    /**
+     * Значення параметра запиту
+     */
+    public String getValue() {
+        return value;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isSelected() {
+        return selected;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.bookapp.core.domain;
+
+/**
+ * Сторінка відфільтрованих книг разом з фасетними лічильниками
+ */
+public class FacetedPage<T> {
+    private final Page<T> page;
+    private final Facets facets;
+
+    public FacetedPage(Page<T> page, Facets facets) {
+        this.page = page;
+        this.facets = facets;
+    }
+
+    public Page<T> getPage() {
+        return page;
+    }
+
+    public Facets getFacets() {
+        return facets;
+    }
+}
\ No newline at end of file
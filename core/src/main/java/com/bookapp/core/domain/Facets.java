@@ -0,0 +1,39 @@
+package com.bookapp.core.domain;
+
+import java.util.List;
+
+/**
+ * Лічильники всіх фасетів для поточного запиту та фільтра
+ */
+public class Facets {
+    public static final String ISBN_PRESENT = "true";
+    public static final String ISBN_MISSING = "false";
+
+    private final List<FacetCount> authors;
+    private final List<FacetCount> decades;
+    private final List<FacetCount> isbn;
+
+    public Facets(List<FacetCount> authors, List<FacetCount> decades, List<FacetCount> isbn) {
+        this.authors = authors;
+        this.decades = decades;
+        this.isbn = isbn;
+    }
+
+    /**
+     * Найчисленніші автори (вибрані - завжди)
+     */
+    public List<FacetCount> getAuthors() {
+        return authors;
+    }
+
+    public List<FacetCount> getDecades() {
+        return decades;
+    }
+
+    /**
+     * Значення ISBN_PRESENT та ISBN_MISSING
+     */
+    public List<FacetCount> getIsbn() {
+        return isbn;
+    }
+}
\ No newline at end of file
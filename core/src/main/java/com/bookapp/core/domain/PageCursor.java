@@ -0,0 +1,49 @@
+package com.bookapp.core.domain;
+
+import com.bookapp.core.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Непрозорий курсор для keyset-пагінації: значення ключа сортування
+ * та id останнього (або першого) елемента сторінки
+ */
+public class PageCursor {
+    private static final char SEPARATOR = '\u001F';
+
+    private final String sortKey;
+    private final long id;
+
+    public PageCursor(String sortKey, long id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Invalid page cursor");
+            }
+            return new PageCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+}
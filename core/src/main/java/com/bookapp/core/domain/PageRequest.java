@@ -3,12 +3,21 @@ package com.bookapp.core.domain;
 public class PageRequest {
     private final int page;
     private final int size;
-    private final String sort;
+    private final SortSpec sort;
+    private final boolean fuzzy;
 
     public PageRequest(int page, int size, String sort) {
+        this(page, size, sort, false);
+    }
+
+    /**
+     * @param fuzzy пошук з урахуванням помилок у словах запиту
+     */
+    public PageRequest(int page, int size, String sort, boolean fuzzy) {
         this.page = Math.max(0, page);
         this.size = Math.min(100, Math.max(1, size));
-        this.sort = sort != null ? sort : "title";
+        this.sort = SortSpec.parse(sort);
+        this.fuzzy = fuzzy;
     }
 
     public int getPage() {
@@ -19,10 +28,21 @@ public class PageRequest {
         return size;
     }
 
+    /**
+     * @return канонічне значення параметра sort
+     */
     public String getSort() {
+        return sort.toString();
+    }
+
+    public SortSpec getSortSpec() {
         return sort;
     }
 
+    public boolean isFuzzy() {
+        return fuzzy;
+    }
+
     public int getOffset() {
         return page * size;
     }
@@ -0,0 +1,73 @@
+package com.bookapp.core.domain;
+
+import java.util.List;
+
+/**
+ * Сторінка без обов'язкового підрахунку загальної кількості:
+ * наявність наступної сторінки визначається читанням size + 1 рядків.
+ * Загальна кількість відома лише якщо її отримали "безкоштовно" або явно запросили.
+ */
+public class Slice<T> {
+    private final List<T> content;
+    private final int pageNumber;
+    private final int pageSize;
+    private final boolean hasNext;
+    private final Long totalElements;
+
+    public Slice(List<T> content, int pageNumber, int pageSize, boolean hasNext) {
+        this(content, pageNumber, pageSize, hasNext, null);
+    }
+
+    public Slice(List<T> content, int pageNumber, int pageSize, boolean hasNext, Long totalElements) {
+        this.content = content;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * Копія з відомою загальною кількістю елементів
+     */
+    public Slice<T> withTotalElements(long totalElements) {
+        return new Slice<>(content, pageNumber, pageSize, hasNext, totalElements);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean isCounted() {
+        return totalElements != null;
+    }
+
+    /**
+     * @return загальна кількість або null, якщо її не рахували
+     */
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    /**
+     * @return кількість сторінок або null, якщо загальна кількість невідома
+     */
+    public Integer getTotalPages() {
+        return totalElements == null ? null : (int) Math.ceil((double) totalElements / pageSize);
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public boolean hasPrevious() {
+        return pageNumber > 0;
+    }
+}
\ No newline at end of file
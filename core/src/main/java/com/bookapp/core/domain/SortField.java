@@ -0,0 +1,52 @@
+package com.bookapp.core.domain;
+
+/**
+ * Поля книги, за якими дозволено сортування каталогу
+ */
+public enum SortField {
+    TITLE("title"),
+    AUTHOR("author"),
+    YEAR("year"),
+    COMMENTS("comments", true),
+    ACTIVITY("activity", true),
+    ID("id");
+
+    private final String name;
+    private final boolean statistic;
+
+    SortField(String name) {
+        this(name, false);
+    }
+
+    SortField(String name, boolean statistic) {
+        this.name = name;
+        this.statistic = statistic;
+    }
+
+    /**
+     * @return назва поля в параметрі sort
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Статистика коментарів (кількість, час останнього) змінюється з кожним коментарем,
+     * тому її немає в наперед відсортованих порядках індексу і для неї немає курсора
+     */
+    public boolean isStatistic() {
+        return statistic;
+    }
+
+    /**
+     * @return поле за назвою або null, якщо сортування за ним не дозволене
+     */
+    public static SortField of(String name) {
+        for (SortField field : values()) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.bookapp.core.domain;
+
+import java.util.Objects;
+
+/**
+ * Один ключ сортування: поле та напрямок
+ */
+public class SortKey {
+    private final SortField field;
+    private final boolean descending;
+
+    public SortKey(SortField field, boolean descending) {
+        this.field = field;
+        this.descending = descending;
+    }
+
+    public SortField getField() {
+        return field;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SortKey)) {
+            return false;
+        }
+        SortKey other = (SortKey) o;
+        return field == other.field && descending == other.descending;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field, descending);
+    }
+
+    @Override
+    public String toString() {
+        return (descending ? "-" : "") + field.getName();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.bookapp.core.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Типізоване сортування каталогу з параметра sort.
+ *
+ * Формат: ключі через кому, "-" перед полем - за спаданням ("author,-year").
+ * Дозволені лише поля з SortField; невідомі ключі відкидаються, тому в запит
+ * до БД ніколи не потрапляє довільна колонка. Наприкінці завжди є id,
+ * щоб порядок був однозначним. Окремий режим "relevance" - за релевантністю
+ * до текстового запиту, без запиту він діє як сортування за назвою.
+ */
+public class SortSpec {
+    public static final String RELEVANCE = "relevance";
+    private static final int MAX_KEYS = 3;
+
+    private final List<SortKey> keys;
+    private final int explicitKeys;
+    private final boolean relevance;
+
+    private SortSpec(List<SortKey> keys, boolean relevance) {
+        List<SortKey> all = new ArrayList<>(keys);
+        this.explicitKeys = all.size();
+        if (all.isEmpty() || all.get(all.size() - 1).getField() != SortField.ID) {
+            all.add(new SortKey(SortField.ID, false));
+        }
+        this.keys = Collections.unmodifiableList(all);
+        this.relevance = relevance;
+    }
+
+    public static SortSpec byTitle() {
+        return new SortSpec(List.of(new SortKey(SortField.TITLE, false)), false);
+    }
+
+    /**
+     * @param value значення параметра sort; null або лише невідомі ключі - сортування за назвою
+     */
+    public static SortSpec parse(String value) {
+        if (value == null || value.isBlank()) {
+            return byTitle();
+        }
+        if (RELEVANCE.equalsIgnoreCase(value.trim())) {
+            return new SortSpec(byTitle().keys.subList(0, 1), true);
+        }
+
+        List<SortKey> keys = new ArrayList<>();
+        List<SortField> seen = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String name = part.trim().toLowerCase(Locale.ROOT);
+            boolean descending = name.startsWith("-");
+            SortField field = SortField.of(descending ? name.substring(1) : name);
+            if (field == null || seen.contains(field)) {
+                continue;
+            }
+            keys.add(new SortKey(field, descending));
+            seen.add(field);
+            // id унікальний - ключі після нього нічого не змінюють
+            if (field == SortField.ID || keys.size() == MAX_KEYS) {
+                break;
+            }
+        }
+        return keys.isEmpty() ? byTitle() : new SortSpec(keys, false);
+    }
+
+    /**
+     * @return ключі сортування; останній - завжди id
+     */
+    public List<SortKey> getKeys() {
+        return keys;
+    }
+
+    public SortKey getPrimaryKey() {
+        return keys.get(0);
+    }
+
+    public boolean isRelevance() {
+        return relevance;
+    }
+
+    /**
+     * Keyset-курсор підтримується лише для одного ключа за зростанням по NOT NULL колонці
+     */
+    public boolean supportsCursor() {
+        SortKey primary = getPrimaryKey();
+        return !relevance && explicitKeys <= 1 && !primary.isDescending() && primary.getField() != SortField.YEAR
+                && !primary.getField().isStatistic();
+    }
+
+    /**
+     * @return true, якщо серед ключів є статистика коментарів
+     */
+    public boolean hasStatisticKey() {
+        for (SortKey key : keys) {
+            if (key.getField().isStatistic()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SortSpec)) {
+            return false;
+        }
+        SortSpec other = (SortSpec) o;
+        return relevance == other.relevance && keys.equals(other.keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return keys.hashCode() * 31 + (relevance ? 1 : 0);
+    }
+
+    /**
+     * Канонічне значення параметра sort (без неявного id)
+     */
+    @Override
+    public String toString() {
+        if (relevance) {
+            return RELEVANCE;
+        }
+        List<String> parts = new ArrayList<>();
+        for (int i = 0; i < explicitKeys; i++) {
+            parts.add(keys.get(i).toString());
+        }
+        return String.join(",", parts);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.bookapp.core.domain;
+
+/**
+ * Варіант автодоповнення пошукового запиту
+ */
+public class Suggestion {
+    public static final String TYPE_TITLE = "title";
+    public static final String TYPE_AUTHOR = "author";
+
+    private final String text;
+    private final String type;
+    private final int weight;
+
+    public Suggestion(String text, String type, int weight) {
+        this.text = text;
+        this.type = type;
+        this.weight = weight;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return TYPE_TITLE або TYPE_AUTHOR
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Популярність варіанта (кількість книг)
+     */
+    public int getWeight() {
+        return weight;
+    }
+}
\ No newline at end of file
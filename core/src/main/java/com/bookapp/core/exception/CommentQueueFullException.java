@@ -0,0 +1,10 @@
+package com.bookapp.core.exception;
+
+/**
+ * Черга асинхронного запису коментарів заповнена - клієнту варто повторити пізніше
+ */
+public class CommentQueueFullException extends BusinessException {
+    public CommentQueueFullException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
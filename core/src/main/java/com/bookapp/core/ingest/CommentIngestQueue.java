@@ -0,0 +1,235 @@
+package com.bookapp.core.ingest;
+
+import com.bookapp.core.domain.Comment;
+import com.bookapp.core.exception.CommentQueueFullException;
+import com.bookapp.core.port.CommentRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Асинхронний запис коментарів (write-behind).
+ *
+ * Коментарі стають в обмежену чергу, окремий потік забирає їх порціями
+ * до batchSize (чекаючи не довше lingerMillis на заповнення порції)
+ * і записує кожну порцію однією транзакцією з пакетним INSERT.
+ * Заповнена черга одразу відхиляє коментар (CommentQueueFullException).
+ *
+ * Кожен коментар отримує порядковий номер; номер останнього коментаря автора
+ * дозволяє його наступному запиту дочекатися запису своїх коментарів (read-your-writes).
+ */
+public class CommentIngestQueue implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(CommentIngestQueue.class);
+
+    private final CommentRepositoryPort repository;
+    private final BlockingQueue<Pending> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Thread writer;
+
+    // Номер видається під тим самим блокуванням, що й місце в черзі, тож черга впорядкована за номерами
+    private final Object submitLock = new Object();
+    private long lastSequence;
+    // Усі коментарі з номером <= flushedSequence вже оброблені (записані або відкинуті)
+    private final Object flushMonitor = new Object();
+    private volatile long flushedSequence;
+    private final Map<String, Long> lastSequenceByAuthor = new ConcurrentHashMap<>();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private volatile boolean running;
+
+    public CommentIngestQueue(CommentRepositoryPort repository, int capacity, int batchSize, long lingerMillis) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("capacity and batchSize must be positive");
+        }
+        this.repository = repository;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+        this.writer = new Thread(this::run, "comment-writer");
+        this.writer.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        writer.start();
+        log.info("Comment ingest queue started: capacity={}, batchSize={}", capacity, batchSize);
+    }
+
+    /**
+     * Ставить коментар у чергу без очікування
+     * @throws CommentQueueFullException якщо черга заповнена
+     */
+    public void submit(Comment comment) {
+        synchronized (submitLock) {
+            if (!running) {
+                throw new CommentQueueFullException("Comment queue is shut down");
+            }
+            long sequence = lastSequence + 1;
+            // Номер автора реєструється до того, як коментар побачить потік запису
+            Long previous = lastSequenceByAuthor.put(comment.getAuthor(), sequence);
+            if (!queue.offer(new Pending(sequence, comment))) {
+                if (previous == null) {
+                    lastSequenceByAuthor.remove(comment.getAuthor(), sequence);
+                } else {
+                    lastSequenceByAuthor.replace(comment.getAuthor(), sequence, previous);
+                }
+                rejected.incrementAndGet();
+                throw new CommentQueueFullException("Comment queue is full, try again later");
+            }
+            lastSequence = sequence;
+        }
+    }
+
+    /**
+     * Чекає, доки буде записано всі коментарі автора, поставлені в чергу до виклику
+     * @return false, якщо час очікування вийшов
+     */
+    public boolean awaitFlushed(String author, long timeoutMillis) {
+        Long sequence = author == null ? null : lastSequenceByAuthor.get(author);
+        if (sequence == null || flushedSequence >= sequence) {
+            return true;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (flushMonitor) {
+            try {
+                while (flushedSequence < sequence) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(flushMonitor, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public CommentIngestStats stats() {
+        return new CommentIngestStats(queue.size(), capacity, written.get(), rejected.get(),
+                dropped.get(), batches.get());
+    }
+
+    /**
+     * Зупиняє прийом і дописує те, що вже в черзі
+     */
+    @Override
+    public void close() {
+        synchronized (submitLock) {
+            running = false;
+        }
+        // Без interrupt: потік може бути посеред JDBC-запису, він сам помітить зупинку за секунду
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Comment ingest queue stopped: written={}, dropped={}, left={}",
+                written.get(), dropped.get(), queue.size());
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<Pending> batch) throws InterruptedException {
+        Pending first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - batch.size());
+
+        // Коротке очікування збирає сплеск коментарів в одну транзакцію (group commit)
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<Comment> comments = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            comments.add(pending.comment);
+        }
+        try {
+            repository.addComments(comments);
+            written.addAndGet(comments.size());
+        } catch (RuntimeException e) {
+            // Один поганий коментар (наприклад, видалена книга) не повинен губити всю порцію
+            log.warn("Comment batch of {} failed, retrying one by one: {}", comments.size(), e.getMessage());
+            for (Comment comment : comments) {
+                writeOne(comment);
+            }
+        }
+        batches.incrementAndGet();
+
+        long last = batch.get(batch.size() - 1).sequence;
+        for (Pending pending : batch) {
+            lastSequenceByAuthor.remove(pending.comment.getAuthor(), pending.sequence);
+        }
+        synchronized (flushMonitor) {
+            flushedSequence = last;
+            flushMonitor.notifyAll();
+        }
+    }
+
+    private void writeOne(Comment comment) {
+        try {
+            repository.addComments(List.of(comment));
+            written.incrementAndGet();
+        } catch (RuntimeException e) {
+            dropped.incrementAndGet();
+            log.error("Comment dropped: bookId={}, author={}: {}",
+                    comment.getBookId(), comment.getAuthor(), e.getMessage());
+        }
+    }
+
+    private static final class Pending {
+        private final long sequence;
+        private final Comment comment;
+
+        private Pending(long sequence, Comment comment) {
+            this.sequence = sequence;
+            this.comment = comment;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.bookapp.core.ingest;
+
+/**
+ * Знімок стану черги асинхронного запису коментарів
+ */
+public class CommentIngestStats {
+    private final int queued;
+    private final int capacity;
+    private final long written;
+    private final long rejected;
+    private final long dropped;
+    private final long batches;
+
+    public CommentIngestStats(int queued, int capacity, long written, long rejected, long dropped, long batches) {
+        this.queued = queued;
+        this.capacity = capacity;
+        this.written = written;
+        this.rejected = rejected;
+        this.dropped = dropped;
+        this.batches = batches;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    // Середній розмір порції: наскільки вдається групувати коміти
+    public double getAverageBatchSize() {
+        return batches == 0 ? 0.0 : (double) (written + dropped) / batches;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.bookapp.core.port;
+
+import com.bookapp.core.domain.Book;
+
+import java.util.List;
+
+/**
+ * Рекомендації для сторінки книги
+ */
+public interface BookRecommendationPort {
+    /**
+     * Книги, які коментували ті самі користувачі, що й цю; найбільше спільних коментаторів спочатку
+     */
+    List<Book> findAlsoDiscussed(Long bookId, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.bookapp.core.port;
+
+import java.util.Map;
+
+/**
+ * Збереження накопичених переглядів сторінок книг.
+ * Перегляди видалених книг мовчки відкидаються.
+ */
+public interface BookViewCountPort {
+    /**
+     * @param viewsByBook id книги -> приріст переглядів з часу попереднього запису
+     */
+    void addViews(Map<Long, Long> viewsByBook);
+}
\ No newline at end of file
@@ -1,13 +1,45 @@
 package com.bookapp.core.port;
 
 import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.BookFilter;
+import com.bookapp.core.domain.CursorPage;
+import com.bookapp.core.domain.CursorPageRequest;
+import com.bookapp.core.domain.FacetedPage;
+import com.bookapp.core.domain.Facets;
 import com.bookapp.core.domain.Page;
 import com.bookapp.core.domain.PageRequest;
+import com.bookapp.core.domain.Slice;
+import com.bookapp.core.domain.Suggestion;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CatalogRepositoryPort {
     Page<Book> findBooks(String query, PageRequest pageRequest);
+    CursorPage<Book> findBooks(String query, CursorPageRequest pageRequest);
+
+    /**
+     * Чи можна гортати за курсором результати текстового пошуку; без запиту курсор працює завжди
+     */
+    boolean supportsCursorSearch();
+
+    Slice<Book> findBookSlice(String query, PageRequest pageRequest);
+    FacetedPage<Book> findBooks(String query, BookFilter filter, PageRequest pageRequest);
+    Facets countFacets(String query, BookFilter filter);
+    long countBooks(String query);
+    List<Suggestion> suggest(String prefix, int limit);
     Optional<Book> findBookById(Long id);
     Book save(Book book);
+
+    /**
+     * Збереження нових книг однією транзакцією з пакетними INSERT
+     */
+    List<Book> saveAll(List<Book> books);
+
+    /**
+     * Потоковий обхід усього каталогу в порядку id без завантаження всіх книг у пам'ять
+     * @return кількість переданих книг
+     */
+    long exportBooks(Consumer<Book> consumer);
 }
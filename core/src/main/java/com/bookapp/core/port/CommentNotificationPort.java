@@ -0,0 +1,13 @@
+package com.bookapp.core.port;
+
+import com.bookapp.core.domain.Comment;
+
+import java.util.List;
+
+/**
+ * Сповіщення про нові коментарі (живі оновлення сторінок книг).
+ * Викликається після коміту запису; коментарі з черги асинхронного запису приходять без id.
+ */
+public interface CommentNotificationPort {
+    void commentsAdded(List<Comment> comments);
+}
\ No newline at end of file
@@ -2,13 +2,23 @@ package com.bookapp.core.port;
 
 import com.bookapp.core.domain.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CommentRepositoryPort {
     List<Comment> findCommentsByBookId(Long bookId);
     List<Comment> findCommentsByUserId(Long userId);  // Новий метод
+    // Keyset-порції, найновіші спочатку: коментарі, старші за (createdAt, id); null - перша порція
+    List<Comment> findCommentsByBookId(Long bookId, LocalDateTime beforeCreatedAt, Long beforeId, int limit);
+    List<Comment> findCommentsByUserId(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int limit);
+    long countCommentsByUserId(Long userId);
     Optional<Comment> findCommentById(Long id);
     Comment addComment(Long bookId, String author, String text);
+    // Пакетний запис однією транзакцією; createdAt береться з коментаря, id ігнорується
+    void addComments(List<Comment> comments);
     boolean deleteComment(Long id);
+    // Видаляє лише коментарі, створені після createdAfter; bookId == null - без перевірки книги. Повертає кількість видалених
+    int deleteComments(Long bookId, Collection<Long> ids, LocalDateTime createdAfter);
 }
\ No newline at end of file
@@ -0,0 +1,299 @@
+package com.bookapp.core.recommend;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Граф спільних обговорень книг: вага ребра між двома книгами - кількість користувачів,
+ * що коментували обидві. Сусіди книги з найбільшою вагою - "читачі також обговорювали".
+ *
+ * Усе зберігається в примітивних хеш-таблицях (long -> int), без боксінгу:
+ * користувач -> (книга -> кількість його коментарів до неї) і книга -> (сусідня книга -> вага).
+ * Новий коментар змінює ваги, лише коли користувач коментує книгу вперше: +1 до ребер з кожною
+ * іншою його книгою; видалення останнього коментаря користувача до книги - навпаки.
+ * Повна побудова з таблиці comments рахує рядки сусідів паралельно (fork/join) по діапазонах книг,
+ * кожна задача пише лише свої рядки - без злиття проміжних таблиць.
+ */
+public class CoOccurrenceGraph {
+
+    // Скільки книг рахує одна задача fork/join без подальшого поділу
+    private static final int BUILD_GRAIN = 256;
+
+    private final LongObjectHashMap<LongIntHashMap> booksByUser;
+    private final LongObjectHashMap<LongIntHashMap> neighbours;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public CoOccurrenceGraph() {
+        this(new LongObjectHashMap<>(), new LongObjectHashMap<>());
+    }
+
+    private CoOccurrenceGraph(LongObjectHashMap<LongIntHashMap> booksByUser,
+                              LongObjectHashMap<LongIntHashMap> neighbours) {
+        this.booksByUser = booksByUser;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Побудова з пар (користувач, книга) таблиці comments
+     * @param userIds id користувачів, пари впорядковані за ним
+     * @param bookIds id книг; пара (користувач, книга) зустрічається один раз
+     * @param comments кількість коментарів користувача до книги
+     * @param length кількість пар (масиви можуть бути довшими)
+     */
+    public static CoOccurrenceGraph build(long[] userIds, long[] bookIds, int[] comments, int length,
+                                          ForkJoinPool pool) {
+        // Межі груп пар кожного користувача; книги нумеруються в порядку першої появи
+        int[] userStarts = new int[length + 1];
+        int users = 0;
+        LongObjectHashMap<LongIntHashMap> booksByUser = new LongObjectHashMap<>();
+        LongIntHashMap bookPositions = new LongIntHashMap();
+        long[] bookKeys = new long[16];
+        int[] usersPerBook = new int[16];
+        int books = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (i == 0 || userIds[i] != userIds[i - 1]) {
+                int end = i + 1;
+                while (end < length && userIds[end] == userIds[i]) {
+                    end++;
+                }
+                userStarts[users++] = i;
+                booksByUser.put(userIds[i], new LongIntHashMap(end - i));
+            }
+            booksByUser.get(userIds[i]).addTo(bookIds[i], comments[i]);
+
+            int position = bookPositions.get(bookIds[i]) - 1;
+            if (position < 0) {
+                if (books == bookKeys.length) {
+                    bookKeys = Arrays.copyOf(bookKeys, books * 2);
+                    usersPerBook = Arrays.copyOf(usersPerBook, books * 2);
+                }
+                position = books++;
+                bookKeys[position] = bookIds[i];
+                bookPositions.addTo(bookIds[i], position + 1);
+            }
+            usersPerBook[position]++;
+        }
+        userStarts[users] = length;
+
+        // Користувачі кожної книги (номери груп) суцільним масивом зі зміщеннями
+        int[] bookStarts = new int[books + 1];
+        for (int b = 0; b < books; b++) {
+            bookStarts[b + 1] = bookStarts[b] + usersPerBook[b];
+        }
+        int[] bookUsers = new int[length];
+        int[] filled = new int[books];
+        for (int u = 0; u < users; u++) {
+            for (int i = userStarts[u]; i < userStarts[u + 1]; i++) {
+                int position = bookPositions.get(bookIds[i]) - 1;
+                bookUsers[bookStarts[position] + filled[position]++] = u;
+            }
+        }
+
+        LongIntHashMap[] rows = new LongIntHashMap[books];
+        pool.invoke(new NeighbourRows(0, books, bookKeys, bookStarts, bookUsers, userStarts, bookIds, rows));
+
+        LongObjectHashMap<LongIntHashMap> neighbours = new LongObjectHashMap<>(books);
+        for (int b = 0; b < books; b++) {
+            if (rows[b] != null) {
+                neighbours.put(bookKeys[b], rows[b]);
+            }
+        }
+        return new CoOccurrenceGraph(booksByUser, neighbours);
+    }
+
+    public void commentAdded(long userId, long bookId) {
+        lock.writeLock().lock();
+        try {
+            LongIntHashMap books = booksByUser.get(userId);
+            if (books == null) {
+                books = new LongIntHashMap();
+                booksByUser.put(userId, books);
+            }
+            if (books.addTo(bookId, 1) == 1) {
+                books.forEach((other, count) -> {
+                    if (other != bookId) {
+                        link(bookId, other, 1);
+                        link(other, bookId, 1);
+                    }
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void commentRemoved(long userId, long bookId) {
+        lock.writeLock().lock();
+        try {
+            LongIntHashMap books = booksByUser.get(userId);
+            // Коментар, якого граф не бачив (наприклад, видалений під час побудови)
+            if (books == null || books.get(bookId) == 0) {
+                return;
+            }
+            if (books.addTo(bookId, -1) == 0) {
+                books.forEach((other, count) -> {
+                    link(bookId, other, -1);
+                    link(other, bookId, -1);
+                });
+                if (books.size() == 0) {
+                    booksByUser.remove(userId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Книги з найбільшою кількістю спільних коментаторів; за рівної - менший id вище
+     */
+    public long[] neighbours(long bookId, int limit) {
+        lock.readLock().lock();
+        try {
+            LongIntHashMap row = neighbours.get(bookId);
+            if (row == null || limit < 1) {
+                return new long[0];
+            }
+            Selection selection = new Selection(Math.min(limit, row.size()));
+            row.forEach(selection);
+            return selection.ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int userCount() {
+        lock.readLock().lock();
+        try {
+            return booksByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int bookCount() {
+        lock.readLock().lock();
+        try {
+            return neighbours.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Кількість пар книг зі спільними коментаторами
+     */
+    public long linkCount() {
+        lock.readLock().lock();
+        try {
+            long[] links = new long[1];
+            neighbours.forEach((bookId, row) -> links[0] += row.size());
+            return links[0] / 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void link(long bookId, long other, int delta) {
+        LongIntHashMap row = neighbours.get(bookId);
+        if (row == null) {
+            if (delta < 0) {
+                return;
+            }
+            row = new LongIntHashMap();
+            neighbours.put(bookId, row);
+        }
+        if (delta < 0 && row.get(other) == 0) {
+            return;
+        }
+        if (row.addTo(other, delta) == 0 && row.size() == 0) {
+            neighbours.remove(bookId);
+        }
+    }
+
+    // Вставка в короткий впорядкований масив: limit - одиниці, купа тут не потрібна
+    private static final class Selection implements LongIntHashMap.Visitor {
+        private final long[] ids;
+        private final int[] weights;
+        private int size;
+
+        private Selection(int limit) {
+            ids = new long[limit];
+            weights = new int[limit];
+        }
+
+        @Override
+        public void visit(long id, int weight) {
+            if (ids.length == 0) {
+                return;
+            }
+            if (size == ids.length && !better(id, weight, ids[size - 1], weights[size - 1])) {
+                return;
+            }
+            int i = size == ids.length ? size - 1 : size++;
+            while (i > 0 && better(id, weight, ids[i - 1], weights[i - 1])) {
+                ids[i] = ids[i - 1];
+                weights[i] = weights[i - 1];
+                i--;
+            }
+            ids[i] = id;
+            weights[i] = weight;
+        }
+
+        private static boolean better(long id, int weight, long otherId, int otherWeight) {
+            return weight > otherWeight || (weight == otherWeight && id < otherId);
+        }
+    }
+
+    private static final class NeighbourRows extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final long[] bookKeys;
+        private final int[] bookStarts;
+        private final int[] bookUsers;
+        private final int[] userStarts;
+        private final long[] bookIds;
+        private final LongIntHashMap[] rows;
+
+        private NeighbourRows(int from, int to, long[] bookKeys, int[] bookStarts, int[] bookUsers,
+                              int[] userStarts, long[] bookIds, LongIntHashMap[] rows) {
+            this.from = from;
+            this.to = to;
+            this.bookKeys = bookKeys;
+            this.bookStarts = bookStarts;
+            this.bookUsers = bookUsers;
+            this.userStarts = userStarts;
+            this.bookIds = bookIds;
+            this.rows = rows;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BUILD_GRAIN) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new NeighbourRows(from, middle, bookKeys, bookStarts, bookUsers, userStarts, bookIds, rows),
+                        new NeighbourRows(middle, to, bookKeys, bookStarts, bookUsers, userStarts, bookIds, rows));
+                return;
+            }
+            for (int b = from; b < to; b++) {
+                LongIntHashMap row = null;
+                for (int k = bookStarts[b]; k < bookStarts[b + 1]; k++) {
+                    int user = bookUsers[k];
+                    for (int i = userStarts[user]; i < userStarts[user + 1]; i++) {
+                        if (bookIds[i] != bookKeys[b]) {
+                            if (row == null) {
+                                row = new LongIntHashMap();
+                            }
+                            row.addTo(bookIds[i], 1);
+                        }
+                    }
+                }
+                rows[b] = row;
+            }
+        }
+    }
+}
\ No newline at end of file
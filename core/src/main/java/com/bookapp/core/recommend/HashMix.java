@@ -0,0 +1,13 @@
+package com.bookapp.core.recommend;
+
+// Id ідуть підряд - без перемішування бітів вони лягали б у сусідні комірки довгими ланцюжками
+final class HashMix {
+
+    private HashMix() {
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
\ No newline at end of file
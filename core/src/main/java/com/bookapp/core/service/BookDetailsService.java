@@ -0,0 +1,78 @@
+package com.bookapp.core.service;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.BookDetails;
+import com.bookapp.core.port.BookRecommendationPort;
+import com.bookapp.core.port.CatalogRepositoryPort;
+import com.bookapp.core.trending.TrendingBooks;
+import com.bookapp.core.views.BookViewCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Читання сторінки книги: книга (з кешу, якщо є) та одна порція коментарів
+ * з іменами авторів одним запитом, без окремого запиту на кожен коментар
+ */
+public class BookDetailsService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookDetailsService.class);
+
+    private final CatalogRepositoryPort catalogRepository;
+    private final CommentService commentService;
+    private final int commentsPageSize;
+    // null - перегляди не враховуються в рейтингу популярних книг
+    private final TrendingBooks trending;
+    // null - перегляди сторінки не зберігаються
+    private final BookViewCounter viewCounter;
+    // null - без блоку "читачі також обговорювали"
+    private final BookRecommendationPort recommendations;
+    private final int recommendationsSize;
+
+    public BookDetailsService(CatalogRepositoryPort catalogRepository,
+                              CommentService commentService,
+                              int commentsPageSize) {
+        this(catalogRepository, commentService, commentsPageSize, null, null, null, 0);
+    }
+
+    public BookDetailsService(CatalogRepositoryPort catalogRepository,
+                              CommentService commentService,
+                              int commentsPageSize,
+                              TrendingBooks trending,
+                              BookViewCounter viewCounter,
+                              BookRecommendationPort recommendations,
+                              int recommendationsSize) {
+        this.catalogRepository = catalogRepository;
+        this.commentService = commentService;
+        this.commentsPageSize = commentsPageSize;
+        this.trending = trending;
+        this.viewCounter = viewCounter;
+        this.recommendations = recommendations;
+        this.recommendationsSize = recommendationsSize;
+        log.info("BookDetailsService initialized with comments page size {}", commentsPageSize);
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public Optional<BookDetails> getBookDetails(Long bookId) {
+        log.debug("Getting details for book_id={}", bookId);
+        Optional<Book> book = catalogRepository.findBookById(bookId);
+        if (book.isEmpty()) {
+            return Optional.empty();
+        }
+        if (trending != null) {
+            trending.recordView(bookId);
+        }
+        if (viewCounter != null) {
+            viewCounter.recordView(bookId);
+        }
+
+        List<Book> alsoDiscussed = recommendations != null && recommendationsSize > 0
+                ? recommendations.findAlsoDiscussed(bookId, recommendationsSize)
+                : List.of();
+        return Optional.of(new BookDetails(book.get(),
+                commentService.getCommentsByBookId(bookId, null, commentsPageSize), alsoDiscussed));
+    }
+}
\ No newline at end of file
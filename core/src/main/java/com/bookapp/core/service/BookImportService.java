@@ -0,0 +1,157 @@
+package com.bookapp.core.service;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.BookImportError;
+import com.bookapp.core.domain.BookImportReport;
+import com.bookapp.core.domain.BookImportRow;
+import com.bookapp.core.exception.ValidationException;
+import com.bookapp.core.port.CatalogRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Масовий імпорт книг з файлів видавців.
+ *
+ * Рядки читаються порціями (chunkSize): порція валідується паралельно,
+ * а коректні книги зберігаються однією транзакцією з пакетними INSERT.
+ * У пам'яті одночасно лише одна порція, тож розмір файлу не обмежений.
+ * Помилка рядка не зупиняє імпорт - вона потрапляє у звіт.
+ */
+public class BookImportService {
+    private static final Logger log = LoggerFactory.getLogger(BookImportService.class);
+    // Скільки помилок повертати у звіті (рахуються всі)
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final CatalogRepositoryPort repository;
+    private final int chunkSize;
+
+    public BookImportService(CatalogRepositoryPort repository, int chunkSize) {
+        this.repository = repository;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Імпорт книг - тільки для ADMIN
+     * @param rows рядки файлу; читаються послідовно, по одній порції
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public BookImportReport importBooks(Iterator<BookImportRow> rows) {
+        long start = System.currentTimeMillis();
+        ImportProgress progress = new ImportProgress();
+
+        List<BookImportRow> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress);
+        }
+
+        BookImportReport report = new BookImportReport(progress.total, progress.imported, progress.failed,
+                System.currentTimeMillis() - start, progress.errors);
+        log.info("Imported {} of {} books in {} ms ({} rows/s), {} rows failed",
+                report.getImportedRows(), report.getTotalRows(), report.getElapsedMillis(),
+                report.getRowsPerSecond(), report.getFailedRows());
+        return report;
+    }
+
+    private void importChunk(List<BookImportRow> chunk, ImportProgress progress) {
+        // Порядок результатів відповідає порядку рядків, тож помилки у звіті йдуть за номерами рядків
+        List<ValidatedRow> validated = chunk.parallelStream()
+                .map(BookImportService::validate)
+                .collect(Collectors.toList());
+
+        List<Book> books = new ArrayList<>(validated.size());
+        for (ValidatedRow row : validated) {
+            if (row.book != null) {
+                books.add(row.book);
+            } else {
+                progress.fail(row.lineNumber, row.error);
+            }
+        }
+        progress.total += chunk.size();
+
+        if (books.isEmpty()) {
+            return;
+        }
+        try {
+            repository.saveAll(books);
+            progress.imported += books.size();
+        } catch (RuntimeException e) {
+            // Порція відкочується цілком - позначаємо всі її коректні рядки
+            log.warn("Failed to save import chunk of {} books: {}", books.size(), e.getMessage());
+            for (ValidatedRow row : validated) {
+                if (row.book != null) {
+                    progress.fail(row.lineNumber, "Помилка збереження: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static ValidatedRow validate(BookImportRow row) {
+        try {
+            Book book = new Book(null, trim(row.getTitle()), trim(row.getAuthor()),
+                    emptyToNull(trim(row.getIsbn())), parseYear(row.getYear()));
+            BookValidator.validate(book);
+            return new ValidatedRow(row.getLineNumber(), book, null);
+        } catch (ValidationException e) {
+            return new ValidatedRow(row.getLineNumber(), null, e.getMessage());
+        }
+    }
+
+    private static Integer parseYear(String value) {
+        String year = emptyToNull(trim(value));
+        if (year == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(year);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Рік видання має бути числом: " + year);
+        }
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static final class ValidatedRow {
+        private final long lineNumber;
+        private final Book book;
+        private final String error;
+
+        private ValidatedRow(long lineNumber, Book book, String error) {
+            this.lineNumber = lineNumber;
+            this.book = book;
+            this.error = error;
+        }
+    }
+
+    private static final class ImportProgress {
+        private long total;
+        private long imported;
+        private long failed;
+        private final List<BookImportError> errors = new ArrayList<>();
+
+        private void fail(long lineNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportError(lineNumber, message));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.bookapp.core.service;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.exception.ValidationException;
+
+/**
+ * Перевірка полів книги перед збереженням (обмеження відповідають колонкам таблиці books)
+ */
+final class BookValidator {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_ISBN_LENGTH = 20;
+
+    private BookValidator() {
+    }
+
+    static void validate(Book book) {
+        if (book.getTitle() == null || book.getTitle().trim().isEmpty()) {
+            throw new ValidationException("Назва книги є обов'язковою");
+        }
+        if (book.getAuthor() == null || book.getAuthor().trim().isEmpty()) {
+            throw new ValidationException("Автор книги є обов'язковим");
+        }
+        if (book.getTitle().length() > MAX_TEXT_LENGTH) {
+            throw new ValidationException("Назва книги довша за " + MAX_TEXT_LENGTH + " символів");
+        }
+        if (book.getAuthor().length() > MAX_TEXT_LENGTH) {
+            throw new ValidationException("Автор книги довший за " + MAX_TEXT_LENGTH + " символів");
+        }
+        if (book.getIsbn() != null && book.getIsbn().length() > MAX_ISBN_LENGTH) {
+            throw new ValidationException("ISBN довший за " + MAX_ISBN_LENGTH + " символів");
+        }
+    }
+}
\ No newline at end of file
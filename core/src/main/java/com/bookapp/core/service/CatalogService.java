@@ -1,21 +1,43 @@
 package com.bookapp.core.service;
 
 import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.BookFilter;
+import com.bookapp.core.domain.CursorPage;
+import com.bookapp.core.domain.CursorPageRequest;
+import com.bookapp.core.domain.FacetedPage;
+import com.bookapp.core.domain.Facets;
 import com.bookapp.core.domain.Page;
 import com.bookapp.core.domain.PageRequest;
-import com.bookapp.core.exception.ValidationException;
+import com.bookapp.core.domain.Slice;
+import com.bookapp.core.domain.Suggestion;
 import com.bookapp.core.port.CatalogRepositoryPort;
+import com.bookapp.core.trending.TrendingBooks;
+import com.bookapp.core.trending.TrendingEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
 public class CatalogService {
     private static final Logger log = LoggerFactory.getLogger(CatalogService.class);
 
     private final CatalogRepositoryPort repository;
+    private final TrendingBooks trending;
 
     public CatalogService(CatalogRepositoryPort repository) {
+        this(repository, null);
+    }
+
+    /**
+     * @param trending рейтинг популярних книг або null, якщо він не ведеться
+     */
+    public CatalogService(CatalogRepositoryPort repository, TrendingBooks trending) {
         this.repository = repository;
+        this.trending = trending;
         log.info("CatalogService initialized with repository: {}",
                 repository.getClass().getSimpleName());
     }
@@ -33,12 +55,128 @@ public class CatalogService {
         return result;
     }
 
+    /**
+     * Пошук з keyset-пагінацією: вартість сторінки не залежить від її глибини
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public CursorPage<Book> searchBooks(String query, CursorPageRequest pageRequest) {
+        log.debug("Searching books with query='{}', cursor={}, backward={}, size={}",
+                query, pageRequest.getCursor() != null, pageRequest.isBackward(), pageRequest.getSize());
+
+        CursorPage<Book> result = repository.findBooks(query, pageRequest);
+
+        log.info("Found {} books (hasNext: {}, hasPrevious: {})",
+                result.getContent().size(), result.hasNext(), result.hasPrevious());
+
+        return result;
+    }
+
+    /**
+     * Чи доступна keyset-пагінація для пошуку за запитом (залежить від рушія пошуку)
+     */
+    public boolean supportsCursorSearch() {
+        return repository.supportsCursorSearch();
+    }
+
+    /**
+     * Сторінка без підрахунку загальної кількості - лише ознака наявності наступної
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public Slice<Book> browseBooks(String query, PageRequest pageRequest) {
+        log.debug("Browsing books with query='{}', page={}, size={}",
+                query, pageRequest.getPage(), pageRequest.getSize());
+
+        Slice<Book> result = repository.findBookSlice(query, pageRequest);
+
+        log.info("Found {} books (hasNext: {})", result.getContent().size(), result.hasNext());
+
+        return result;
+    }
+
+    /**
+     * Пошук з фасетними фільтрами (автор, десятиліття, ISBN) та лічильниками для кожного значення
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public FacetedPage<Book> searchBooks(String query, BookFilter filter, PageRequest pageRequest) {
+        log.debug("Faceted search with query='{}', filter={}, page={}, size={}",
+                query, filter, pageRequest.getPage(), pageRequest.getSize());
+
+        FacetedPage<Book> result = repository.findBooks(query, filter, pageRequest);
+
+        log.info("Found {} books (total: {})",
+                result.getPage().getContent().size(), result.getPage().getTotalElements());
+
+        return result;
+    }
+
+    /**
+     * Лише фасетні лічильники - для бічної панелі без фільтрації сторінки
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public Facets getFacets(String query, BookFilter filter) {
+        return repository.countFacets(query, filter);
+    }
+
+    /**
+     * Загальна кількість книг за запитом - рахується лише на явну вимогу
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public long countBooks(String query) {
+        log.debug("Counting books with query='{}'", query);
+        return repository.countBooks(query);
+    }
+
+    /**
+     * Автодоповнення для пошукового рядка
+     * @param prefix введений користувачем початок назви або автора
+     * @param limit максимальна кількість варіантів (1..10)
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return repository.suggest(prefix, Math.min(10, Math.max(1, limit)));
+    }
+
+    /**
+     * Популярні книги за ковзним вікном з останнього знімка рейтингу;
+     * книги читаються за id (кеш другого рівня), видалені пропускаються
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public List<Book> getTrendingBooks() {
+        if (trending == null) {
+            return Collections.emptyList();
+        }
+        List<Book> books = new ArrayList<>();
+        for (TrendingEntry entry : trending.top()) {
+            repository.findBookById(entry.getBookId()).ifPresent(books::add);
+        }
+        return books;
+    }
+
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public Book getBookById(Long id) {
         log.debug("Getting book by id={}", id);
         return repository.findBookById(id).orElse(null);
     }
 
+    /**
+     * Вивантаження всього каталогу для синхронізації - тільки для ADMIN
+     * @param consumer отримує книги по одній у порядку id
+     * @return кількість вивантажених книг
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public long exportBooks(Consumer<Book> consumer) {
+        log.debug("Exporting catalog by ADMIN");
+        long start = System.currentTimeMillis();
+
+        long exported = repository.exportBooks(consumer);
+
+        log.info("Exported {} books in {} ms", exported, System.currentTimeMillis() - start);
+        return exported;
+    }
+
     /**
      * Додавання нової книги - тільки для ADMIN
      */
@@ -46,12 +184,7 @@ public class CatalogService {
     public Book addBook(Book book) {
         log.debug("Adding new book: title='{}' by user with ADMIN role", book.getTitle());
 
-        if (book.getTitle() == null || book.getTitle().trim().isEmpty()) {
-            throw new ValidationException("Назва книги є обов'язковою");
-        }
-        if (book.getAuthor() == null || book.getAuthor().trim().isEmpty()) {
-            throw new ValidationException("Автор книги є обов'язковим");
-        }
+        BookValidator.validate(book);
 
         Book savedBook = repository.save(book);
         log.info("Book added: id={}, title='{}'", savedBook.getId(), savedBook.getTitle());
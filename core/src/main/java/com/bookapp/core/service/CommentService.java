@@ -1,10 +1,15 @@
 package com.bookapp.core.service;
 
 import com.bookapp.core.domain.Comment;
+import com.bookapp.core.domain.CursorPage;
+import com.bookapp.core.domain.PageCursor;
+import com.bookapp.core.exception.BookNotFoundException;
 import com.bookapp.core.exception.BusinessException;
 import com.bookapp.core.exception.CommentTooOldException;
 import com.bookapp.core.exception.InvalidCommentDeleteException;
 import com.bookapp.core.exception.ValidationException;
+import com.bookapp.core.ingest.CommentIngestQueue;
+import com.bookapp.core.port.CatalogRepositoryPort;
 import com.bookapp.core.port.CommentRepositoryPort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,20 +18,46 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class CommentService {
     private static final Logger log = LoggerFactory.getLogger(CommentService.class);
     private static final long DELETE_ALLOWED_HOURS = 24;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_DELETE_BATCH = 500;
 
     private int maxAuthorLength = 100;
     private int maxTextLength = 1000;
 
     private final CommentRepositoryPort repository;
+    // null - кожен коментар записується одразу власною транзакцією
+    private final CommentIngestQueue ingestQueue;
+    private final long readYourWritesTimeoutMillis;
+    // Перевірка книги до постановки в чергу: потік запису вже не може повідомити автора про помилку
+    private final CatalogRepositoryPort catalogRepository;
 
     public CommentService(CommentRepositoryPort repository) {
+        this(repository, null, 0, null);
+    }
+
+    /**
+     * @param ingestQueue черга асинхронного запису або null для синхронного
+     * @param readYourWritesTimeoutMillis скільки читання чекає запису власних коментарів автора
+     * @param catalogRepository каталог для перевірки книги в асинхронному режимі або null
+     */
+    public CommentService(CommentRepositoryPort repository,
+                          CommentIngestQueue ingestQueue,
+                          long readYourWritesTimeoutMillis,
+                          CatalogRepositoryPort catalogRepository) {
         this.repository = repository;
-        log.info("CommentService initialized");
+        this.ingestQueue = ingestQueue;
+        this.readYourWritesTimeoutMillis = readYourWritesTimeoutMillis;
+        this.catalogRepository = catalogRepository;
+        log.info("CommentService initialized: ingest={}", ingestQueue == null ? "sync" : "async");
     }
 
     public List<Comment> getCommentsByBookId(Long bookId) {
@@ -39,15 +70,67 @@ public class CommentService {
         return repository.findCommentsByUserId(userId);
     }
 
+    /**
+     * Порція коментарів до книги, найновіші спочатку (keyset за created_at, id)
+     * @param after курсор останнього показаного коментаря або null для першої порції
+     */
+    public CursorPage<Comment> getCommentsByBookId(Long bookId, String after, int size) {
+        int limit = clampPageSize(size);
+        PageCursor cursor = after == null ? null : PageCursor.decode(after);
+        List<Comment> rows = repository.findCommentsByBookId(
+                bookId, cursorCreatedAt(cursor), cursor == null ? null : cursor.getId(), limit + 1);
+        return toCursorPage(rows, limit);
+    }
+
+    /**
+     * Порція коментарів користувача, найновіші спочатку
+     */
+    public CursorPage<Comment> getCommentsByUserId(Long userId, String after, int size) {
+        int limit = clampPageSize(size);
+        PageCursor cursor = after == null ? null : PageCursor.decode(after);
+        List<Comment> rows = repository.findCommentsByUserId(
+                userId, cursorCreatedAt(cursor), cursor == null ? null : cursor.getId(), limit + 1);
+        return toCursorPage(rows, limit);
+    }
+
+    public long countCommentsByUserId(Long userId) {
+        return repository.countCommentsByUserId(userId);
+    }
+
     public Comment addComment(Long bookId, String author, String text) {
         validateComment(author, text);
 
+        if (ingestQueue != null) {
+            // Синхронний запис перевіряє книгу зовнішнім ключем, черга - лише тут
+            if (catalogRepository != null && catalogRepository.findBookById(bookId).isEmpty()) {
+                throw new BookNotFoundException(bookId);
+            }
+            // id з'явиться після запису порції; час фіксуємо зараз, щоб зберегти порядок публікації
+            Comment pending = new Comment(null, bookId, author, text, LocalDateTime.now());
+            ingestQueue.submit(pending);
+            log.debug("Comment queued: bookId={}, author={}", bookId, author);
+            return pending;
+        }
+
         Comment comment = repository.addComment(bookId, author, text);
         log.info("Comment created: id={}, bookId={}, author={}",
                 comment.getId(), bookId, author);
         return comment;
     }
 
+    /**
+     * Read-your-writes для асинхронного режиму: перед показом сторінки автору
+     * дочікуємося запису його коментарів з черги (не довше заданого часу)
+     */
+    public void awaitPendingComments(String author) {
+        if (ingestQueue == null) {
+            return;
+        }
+        if (!ingestQueue.awaitFlushed(author, readYourWritesTimeoutMillis)) {
+            log.warn("Pending comments of {} not written within {} ms", author, readYourWritesTimeoutMillis);
+        }
+    }
+
     /**
      * Видалення коментаря з валідацією
      * @param bookId ID книги
@@ -96,23 +179,83 @@ public class CommentService {
         }
     }
 
+    /**
+     * Пакетне видалення коментарів книги одним DELETE; правило 24 годин перевіряється в запиті,
+     * тому застарілі та чужі для книги id просто не видаляються
+     * @return кількість видалених коментарів
+     */
+    public int deleteAll(long bookId, Collection<Long> commentIds) {
+        if (bookId <= 0) {
+            throw new InvalidCommentDeleteException(
+                    "Invalid bookId: " + bookId + ". BookId must be positive");
+        }
+        if (commentIds == null || commentIds.isEmpty()) {
+            throw new InvalidCommentDeleteException("At least one commentId is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(commentIds);
+        if (ids.size() > MAX_DELETE_BATCH) {
+            throw new InvalidCommentDeleteException(
+                    "Too many comments in one batch (max " + MAX_DELETE_BATCH + ")");
+        }
+        for (Long id : ids) {
+            if (id == null || id <= 0) {
+                throw new InvalidCommentDeleteException(
+                        "Invalid commentId: " + id + ". CommentId must be positive");
+            }
+        }
+
+        int deleted = repository.deleteComments(bookId, ids, deleteCutoff());
+        log.info("Comments batch deleted: bookId={}, requested={}, deleted={}", bookId, ids.size(), deleted);
+        return deleted;
+    }
+
     /**
      * Старий метод видалення (для зворотної сумісності)
      */
     public void deleteComment(Long commentId) {
-        Comment comment = repository.findCommentById(commentId)
-                .orElseThrow(() -> new BusinessException("Comment not found"));
+        // Звичайний випадок - один DELETE; коментар читаємо лише для пояснення відмови
+        if (repository.deleteComments(null, List.of(commentId), deleteCutoff()) > 0) {
+            log.info("Comment deleted: id={}", commentId);
+            return;
+        }
+        if (repository.findCommentById(commentId).isEmpty()) {
+            throw new BusinessException("Comment not found");
+        }
+        throw new BusinessException(
+                "Cannot delete comment older than " + DELETE_ALLOWED_HOURS + " hours");
+    }
 
-        Duration age = Duration.between(comment.getCreatedAt(), LocalDateTime.now());
-        if (age.toHours() > DELETE_ALLOWED_HOURS) {
-            throw new BusinessException(
-                    "Cannot delete comment older than " + DELETE_ALLOWED_HOURS + " hours");
+    private LocalDateTime deleteCutoff() {
+        return LocalDateTime.now().minusHours(DELETE_ALLOWED_HOURS);
+    }
+
+    private int clampPageSize(int size) {
+        return Math.min(MAX_PAGE_SIZE, Math.max(1, size));
+    }
+
+    private LocalDateTime cursorCreatedAt(PageCursor cursor) {
+        if (cursor == null) {
+            return null;
         }
+        try {
+            return LocalDateTime.parse(cursor.getSortKey());
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
 
-        boolean deleted = repository.deleteComment(commentId);
-        if (deleted) {
-            log.info("Comment deleted: id={}, bookId={}", commentId, comment.getBookId());
+    /**
+     * Прочитано на один рядок більше за розмір порції: зайвий рядок лише вказує, що є ще
+     */
+    private CursorPage<Comment> toCursorPage(List<Comment> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        List<Comment> content = hasMore ? rows.subList(0, limit) : rows;
+        String next = null;
+        if (hasMore) {
+            Comment last = content.get(content.size() - 1);
+            next = new PageCursor(last.getCreatedAt().toString(), last.getId()).encode();
         }
+        return new CursorPage<>(content, limit, next, null);
     }
 
     private void validateComment(String author, String text) {
@@ -0,0 +1,272 @@
+package com.bookapp.core.trending;
+
+import com.bookapp.core.domain.Comment;
+import com.bookapp.core.port.CommentNotificationPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Рейтинг популярних книг за ковзним вікном (перегляди сторінки та коментарі).
+ *
+ * Події рахуються в поточному часовому кошику: у кожної книги пара LongAdder,
+ * тож запис з багатьох потоків не блокується і не конкурує за один лічильник.
+ * Окремий потік раз на publishInterval закриває кошики, що минули (лічильники
+ * стискаються в масиви й додаються до сум вікна, кошики поза вікном віднімаються),
+ * відбирає top-K купою розміру K і публікує незмінний знімок - читання лише бере посилання.
+ *
+ * Ключі - id книг, їх не більше, ніж книг у каталозі, тому лічильники точні,
+ * без імовірнісних структур на кшталт Count-Min Sketch.
+ * Коментарі приходять як сповіщення після коміту запису, тож невдалі записи не рахуються.
+ */
+public class TrendingBooks implements CommentNotificationPort, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TrendingBooks.class);
+
+    // Від меншого рейтингу до більшого; за рівного - менший id вище
+    private static final Comparator<TrendingEntry> ASCENDING = Comparator
+            .comparingLong(TrendingEntry::getScore)
+            .thenComparing(Comparator.comparingLong(TrendingEntry::getBookId).reversed());
+
+    private final long bucketMillis;
+    private final int windowBuckets;
+    private final int size;
+    private final long viewWeight;
+    private final long commentWeight;
+    private final long publishIntervalMillis;
+    private final Clock clock;
+    private final ScheduledExecutorService publisher;
+
+    private volatile Bucket current;
+    // Щойно замінений кошик: запис, що встиг узяти старе посилання, ще може до нього додати,
+    // тому він закривається лише на наступній публікації
+    private Bucket retiring;
+    private final Deque<ClosedBucket> closed = new ArrayDeque<>();
+    // Суми закритих кошиків вікна: id книги -> {перегляди, коментарі}; змінює лише publish()
+    private final Map<Long, long[]> totals = new HashMap<>();
+
+    private volatile List<TrendingEntry> snapshot = List.of();
+
+    public TrendingBooks(long bucketMillis, int windowBuckets, int size,
+                         long viewWeight, long commentWeight, long publishIntervalMillis) {
+        this(bucketMillis, windowBuckets, size, viewWeight, commentWeight, publishIntervalMillis, Clock.systemUTC());
+    }
+
+    public TrendingBooks(long bucketMillis, int windowBuckets, int size,
+                         long viewWeight, long commentWeight, long publishIntervalMillis, Clock clock) {
+        if (bucketMillis < 1 || windowBuckets < 1 || size < 1) {
+            throw new IllegalArgumentException("bucketMillis, windowBuckets and size must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.windowBuckets = windowBuckets;
+        this.size = size;
+        this.viewWeight = viewWeight;
+        this.commentWeight = commentWeight;
+        this.publishIntervalMillis = Math.max(1, publishIntervalMillis);
+        this.clock = clock;
+        this.current = new Bucket(clock.millis() / bucketMillis);
+        this.publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trending-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        publisher.scheduleWithFixedDelay(this::publishQuietly,
+                publishIntervalMillis, publishIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Trending books started: window={} x {} ms, size={}", windowBuckets, bucketMillis, size);
+    }
+
+    public void recordView(long bookId) {
+        counter(bookId).views.increment();
+    }
+
+    public void recordComment(long bookId) {
+        counter(bookId).comments.increment();
+    }
+
+    @Override
+    public void commentsAdded(List<Comment> comments) {
+        for (Comment comment : comments) {
+            recordComment(comment.getBookId());
+        }
+    }
+
+    /**
+     * Останній опублікований рейтинг, найпопулярніші спочатку
+     */
+    public List<TrendingEntry> top() {
+        return snapshot;
+    }
+
+    /**
+     * Перехід до нового кошика, якщо настав його час, і публікація нового знімка
+     */
+    public synchronized void publish() {
+        long index = clock.millis() / bucketMillis;
+        if (retiring != null) {
+            close(retiring);
+            retiring = null;
+        }
+        if (index != current.index) {
+            retiring = current;
+            current = new Bucket(index);
+        }
+        while (!closed.isEmpty() && closed.peekFirst().index <= index - windowBuckets) {
+            subtract(closed.pollFirst());
+        }
+        snapshot = selectTop();
+    }
+
+    @Override
+    public void close() {
+        publisher.shutdownNow();
+    }
+
+    private void publishQuietly() {
+        try {
+            publish();
+        } catch (RuntimeException e) {
+            // Виняток зупинив би подальші запуски планувальника
+            log.error("Trending snapshot failed", e);
+        }
+    }
+
+    private Counter counter(long bookId) {
+        Map<Long, Counter> counters = current.counters;
+        Counter counter = counters.get(bookId);
+        return counter != null ? counter : counters.computeIfAbsent(bookId, id -> new Counter());
+    }
+
+    private List<TrendingEntry> selectTop() {
+        PriorityQueue<TrendingEntry> heap = new PriorityQueue<>(size + 1, ASCENDING);
+        for (Map.Entry<Long, long[]> entry : totals.entrySet()) {
+            long bookId = entry.getKey();
+            offer(heap, bookId, entry.getValue()[0] + liveViews(bookId), entry.getValue()[1] + liveComments(bookId));
+        }
+        // Книги, що з'явилися лише в незакритих кошиках
+        if (retiring != null) {
+            for (Long bookId : retiring.counters.keySet()) {
+                if (!totals.containsKey(bookId)) {
+                    offer(heap, bookId, liveViews(bookId), liveComments(bookId));
+                }
+            }
+        }
+        for (Long bookId : current.counters.keySet()) {
+            if (!totals.containsKey(bookId) && (retiring == null || !retiring.counters.containsKey(bookId))) {
+                offer(heap, bookId, liveViews(bookId), liveComments(bookId));
+            }
+        }
+
+        List<TrendingEntry> result = new ArrayList<>(heap);
+        result.sort(ASCENDING.reversed());
+        return List.copyOf(result);
+    }
+
+    private void offer(PriorityQueue<TrendingEntry> heap, long bookId, long views, long comments) {
+        long score = views * viewWeight + comments * commentWeight;
+        if (score <= 0) {
+            return;
+        }
+        TrendingEntry entry = new TrendingEntry(bookId, views, comments, score);
+        if (heap.size() < size) {
+            heap.add(entry);
+        } else if (ASCENDING.compare(entry, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+    }
+
+    private long liveViews(long bookId) {
+        return live(current, bookId, true) + live(retiring, bookId, true);
+    }
+
+    private long liveComments(long bookId) {
+        return live(current, bookId, false) + live(retiring, bookId, false);
+    }
+
+    private static long live(Bucket bucket, long bookId, boolean views) {
+        Counter counter = bucket == null ? null : bucket.counters.get(bookId);
+        if (counter == null) {
+            return 0;
+        }
+        return views ? counter.views.sum() : counter.comments.sum();
+    }
+
+    private void close(Bucket bucket) {
+        int n = bucket.counters.size();
+        long[] ids = new long[n];
+        long[] views = new long[n];
+        long[] comments = new long[n];
+        int i = 0;
+        for (Map.Entry<Long, Counter> entry : bucket.counters.entrySet()) {
+            if (i == n) {
+                break;
+            }
+            ids[i] = entry.getKey();
+            views[i] = entry.getValue().views.sum();
+            comments[i] = entry.getValue().comments.sum();
+            long[] total = totals.computeIfAbsent(ids[i], id -> new long[2]);
+            total[0] += views[i];
+            total[1] += comments[i];
+            i++;
+        }
+        closed.addLast(new ClosedBucket(bucket.index, ids, views, comments, i));
+    }
+
+    private void subtract(ClosedBucket bucket) {
+        for (int i = 0; i < bucket.length; i++) {
+            long[] total = totals.get(bucket.ids[i]);
+            total[0] -= bucket.views[i];
+            total[1] -= bucket.comments[i];
+            if (total[0] == 0 && total[1] == 0) {
+                totals.remove(bucket.ids[i]);
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private final long index;
+        private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+        private Bucket(long index) {
+            this.index = index;
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder comments = new LongAdder();
+    }
+
+    // Закритий кошик стиснутий у паралельні масиви - без об'єкта на кожну книгу
+    private static final class ClosedBucket {
+        private final long index;
+        private final long[] ids;
+        private final long[] views;
+        private final long[] comments;
+        private final int length;
+
+        private ClosedBucket(long index, long[] ids, long[] views, long[] comments, int length) {
+            this.index = index;
+            this.ids = ids;
+            this.views = views;
+            this.comments = comments;
+            this.length = length;
+        }
+    }
+}
\ No newline at end of file
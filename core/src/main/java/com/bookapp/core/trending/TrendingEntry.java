@@ -0,0 +1,39 @@
+package com.bookapp.core.trending;
+
+/**
+ * Книга в рейтингу популярних: перегляди та коментарі за вікно і зважена сума
+ */
+public class TrendingEntry {
+    private final long bookId;
+    private final long views;
+    private final long comments;
+    private final long score;
+
+    public TrendingEntry(long bookId, long views, long comments, long score) {
+        this.bookId = bookId;
+        this.views = views;
+        this.comments = comments;
+        this.score = score;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public long getComments() {
+        return comments;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "TrendingEntry{bookId=" + bookId + ", score=" + score + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.bookapp.core.views;
+
+import com.bookapp.core.port.BookViewCountPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Лічильник переглядів сторінок книг з відкладеним записом (write-behind).
+ *
+ * UPDATE на кожен перегляд серіалізувався б на блокуванні рядка популярної книги,
+ * тому перегляди рахуються в пам'яті: у кожної книги свій LongAdder, запис з багатьох
+ * потоків не блокується. Окремий потік раз на flushInterval забирає накопичене
+ * (sumThenReset не губить паралельних приростів) і записує прирости одним пакетом.
+ *
+ * maxPending обмежує, скільки переглядів може загубитися при аварійній зупинці:
+ * коли стільки назбиралося, запис запускається позачергово. Поки запис не вдається,
+ * позачергові спроби тривають з паузою, що подвоюється від RETRY_BACKOFF_MILLIS до
+ * flushInterval. При звичайній зупинці close() дописує все, що лишилося.
+ */
+public class BookViewCounter implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(BookViewCounter.class);
+
+    static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private final BookViewCountPort repository;
+    private final long flushIntervalMillis;
+    private final long maxPending;
+    private final ScheduledExecutorService flusher;
+    private final LongSupplier nanoTime;
+
+    // Ключі - id книг, їх не більше, ніж книг у каталозі, тому записи не видаляються
+    private final Map<Long, LongAdder> counters = new ConcurrentHashMap<>();
+    private final LongAdder pending = new LongAdder();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    // Після невдалого запису наступна позачергова спроба - не раніше retryAtNanos
+    private volatile boolean failing;
+    private volatile long retryAtNanos;
+    // Пауза перед наступною спробою; лише під монітором flush()
+    private long backoffMillis;
+
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public BookViewCounter(BookViewCountPort repository, long flushIntervalMillis, long maxPending) {
+        this(repository, flushIntervalMillis, maxPending, System::nanoTime);
+    }
+
+    BookViewCounter(BookViewCountPort repository, long flushIntervalMillis, long maxPending, LongSupplier nanoTime) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("maxPending must be positive");
+        }
+        this.repository = repository;
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.maxPending = maxPending;
+        this.nanoTime = nanoTime;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "book-view-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Book view counter started: flushInterval={} ms, maxPending={}", flushIntervalMillis, maxPending);
+    }
+
+    public void recordView(long bookId) {
+        LongAdder counter = counters.get(bookId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(bookId, id -> new LongAdder());
+        }
+        counter.increment();
+        pending.increment();
+
+        if (pending.sum() >= maxPending && (!failing || nanoTime.getAsLong() - retryAtNanos >= 0)
+                && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Лічильник зупиняється: залишок допише close()
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Записує накопичені прирости одним пакетом; при помилці повертає їх у лічильники
+     * @return кількість записаних переглядів
+     */
+    public synchronized long flush() {
+        flushRequested.set(false);
+        // Впорядковано за id: рядки book_stats блокуються в тому ж порядку, що й при записі коментарів
+        Map<Long, Long> deltas = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<Long, LongAdder> entry : counters.entrySet()) {
+            long views = entry.getValue().sumThenReset();
+            if (views != 0) {
+                deltas.put(entry.getKey(), views);
+                total += views;
+            }
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        pending.add(-total);
+
+        try {
+            repository.addViews(deltas);
+        } catch (RuntimeException e) {
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                counters.computeIfAbsent(entry.getKey(), id -> new LongAdder()).add(entry.getValue());
+            }
+            pending.add(total);
+            backoffMillis = failing ? Math.min(backoffMillis * 2, flushIntervalMillis)
+                    : Math.min(RETRY_BACKOFF_MILLIS, flushIntervalMillis);
+            retryAtNanos = nanoTime.getAsLong() + TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+            failing = true;
+            failures.incrementAndGet();
+            throw e;
+        }
+        failing = false;
+        flushed.addAndGet(total);
+        flushes.incrementAndGet();
+        return total;
+    }
+
+    public BookViewStats stats() {
+        return new BookViewStats(pending.sum(), maxPending, flushed.get(), flushes.get(), failures.get());
+    }
+
+    /**
+     * Зупиняє фоновий запис і дописує залишок
+     */
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Final book view flush failed, {} views lost", pending.sum(), e);
+        }
+        log.info("Book view counter stopped: flushed={}, failures={}", flushed.get(), failures.get());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Виняток зупинив би подальші запуски планувальника
+            log.warn("Book view flush failed, {} views kept for retry in {} ms: {}",
+                    pending.sum(), backoffMillis, e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.bookapp.core.views;
+
+/**
+ * Знімок стану лічильника переглядів для моніторингу
+ */
+public class BookViewStats {
+    private final long pending;
+    private final long maxPending;
+    private final long flushed;
+    private final long flushes;
+    private final long failures;
+
+    public BookViewStats(long pending, long maxPending, long flushed, long flushes, long failures) {
+        this.pending = pending;
+        this.maxPending = maxPending;
+        this.flushed = flushed;
+        this.flushes = flushes;
+        this.failures = failures;
+    }
+
+    // Ще не записані перегляди: стільки може загубитися при аварійній зупинці
+    public long getPending() {
+        return pending;
+    }
+
+    public long getMaxPending() {
+        return maxPending;
+    }
+
+    public long getFlushed() {
+        return flushed;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    // Середня кількість переглядів на один запис у БД
+    public double getAverageFlushSize() {
+        return flushes == 0 ? 0.0 : (double) flushed / flushes;
+    }
+}
\ No newline at end of file
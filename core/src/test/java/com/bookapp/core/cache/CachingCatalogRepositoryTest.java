@@ -0,0 +1,172 @@
+package com.bookapp.core.cache;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.Page;
+import com.bookapp.core.domain.PageRequest;
+import com.bookapp.core.port.CatalogRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Юніт-тести для кешу результатів пошуку
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingCatalogRepository Tests")
+class CachingCatalogRepositoryTest {
+
+    private static final long TTL_MILLIS = 1000;
+    private static final long LIST_TTL_MILLIS = 100;
+
+    @Mock
+    private CatalogRepositoryPort delegate;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private CachingCatalogRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingCatalogRepository(delegate, new BoundedCache<>(2, TTL_MILLIS, nanoTime::get),
+                new BoundedCache<>(2, LIST_TTL_MILLIS, nanoTime::get));
+    }
+
+    private Page<Book> page(String title) {
+        return new Page<>(List.of(new Book(1L, title, "Author", null, 2000)), 0, 12, 1);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated search from cache")
+    void shouldServeRepeatedSearchFromCache() {
+        // Given
+        when(delegate.findBooks(eq("java"), any(PageRequest.class))).thenReturn(page("Effective Java"));
+
+        // When
+        Page<Book> first = repository.findBooks("java", new PageRequest(0, 12, "title"));
+        Page<Book> second = repository.findBooks("java", new PageRequest(0, 12, "title"));
+
+        // Then
+        assertSame(first, second);
+        verify(delegate, times(1)).findBooks(eq("java"), any(PageRequest.class));
+        assertEquals(1, repository.stats().getHits());
+        assertEquals(1, repository.stats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Should use page, size and sort as part of the key")
+    void shouldUsePageSizeAndSortInKey() {
+        // Given
+        when(delegate.findBooks(eq("java"), any(PageRequest.class))).thenReturn(page("Effective Java"));
+
+        // When
+        repository.findBooks("java", new PageRequest(0, 12, "title"));
+        repository.findBooks("java", new PageRequest(1, 12, "title"));
+        repository.findBooks("java", new PageRequest(0, 12, "author"));
+
+        // Then
+        verify(delegate, times(3)).findBooks(eq("java"), any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should invalidate cache when a book is saved")
+    void shouldInvalidateOnSave() {
+        // Given
+        Book book = new Book(null, "New Book", "Author", null, 2024);
+        when(delegate.findBooks(eq("java"), any(PageRequest.class))).thenReturn(page("Effective Java"));
+        when(delegate.save(book)).thenReturn(new Book(2L, "New Book", "Author", null, 2024));
+        repository.findBooks("java", new PageRequest(0, 12, "title"));
+
+        // When
+        repository.save(book);
+        repository.findBooks("java", new PageRequest(0, 12, "title"));
+
+        // Then
+        verify(delegate, times(2)).findBooks(eq("java"), any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should not cache lists sorted by statistics and expire other lists after list TTL")
+    void shouldKeepCountersFresh() {
+        // Given
+        when(delegate.findBooks(eq("java"), any(PageRequest.class))).thenReturn(page("Effective Java"));
+
+        // When
+        repository.findBooks("java", new PageRequest(0, 12, "comments"));
+        repository.findBooks("java", new PageRequest(0, 12, "comments"));
+        repository.findBooks("java", new PageRequest(0, 12, "title"));
+        repository.findBooks("java", new PageRequest(0, 12, "title"));
+        nanoTime.addAndGet(LIST_TTL_MILLIS * 1_000_000L);
+        repository.findBooks("java", new PageRequest(0, 12, "title"));
+
+        // Then
+        verify(delegate, times(2)).findBooks(eq("java"), argThat((PageRequest r) -> "comments".equals(r.getSort())));
+        verify(delegate, times(2)).findBooks(eq("java"), argThat((PageRequest r) -> "title".equals(r.getSort())));
+    }
+
+    @Test
+    @DisplayName("Should reload entry after TTL expires")
+    void shouldReloadAfterTtl() {
+        // Given
+        when(delegate.countBooks("java")).thenReturn(5L);
+        repository.countBooks("java");
+
+        // When
+        nanoTime.addAndGet(TTL_MILLIS * 1_000_000L);
+        long count = repository.countBooks("java");
+
+        // Then
+        assertEquals(5L, count);
+        verify(delegate, times(2)).countBooks("java");
+        assertEquals(1, repository.stats().getEvictions());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used entry when full")
+    void shouldEvictLeastRecentlyUsed() {
+        // Given
+        when(delegate.countBooks(anyString())).thenReturn(1L);
+        repository.countBooks("a");
+        repository.countBooks("b");
+        repository.countBooks("a");
+
+        // When
+        repository.countBooks("c");
+        repository.countBooks("a");
+        repository.countBooks("b");
+
+        // Then
+        verify(delegate, times(1)).countBooks("a");
+        verify(delegate, times(2)).countBooks("b");
+        assertEquals(2, repository.stats().getSize());
+    }
+
+    @Test
+    @DisplayName("Should not cache result loaded before invalidation")
+    void shouldNotCacheStaleResult() {
+        // Given
+        when(delegate.countBooks("java")).thenAnswer(invocation -> {
+            repository.invalidate();
+            return 1L;
+        }).thenReturn(2L);
+
+        // When
+        long stale = repository.countBooks("java");
+        long fresh = repository.countBooks("java");
+
+        // Then
+        assertEquals(1L, stale);
+        assertEquals(2L, fresh);
+    }
+}
\ No newline at end of file
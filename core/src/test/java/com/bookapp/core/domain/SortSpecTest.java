@@ -0,0 +1,79 @@
+package com.bookapp.core.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юніт-тести для розбору параметра сортування
+ */
+@DisplayName("SortSpec Tests")
+class SortSpecTest {
+
+    @Test
+    @DisplayName("Should parse multiple keys with directions and append id")
+    void shouldParseMultipleKeys() {
+        // When
+        SortSpec spec = SortSpec.parse("author,-year");
+
+        // Then
+        assertEquals(List.of(
+                new SortKey(SortField.AUTHOR, false),
+                new SortKey(SortField.YEAR, true),
+                new SortKey(SortField.ID, false)), spec.getKeys());
+        assertEquals("author,-year", spec.toString());
+        assertFalse(spec.supportsCursor());
+    }
+
+    @Test
+    @DisplayName("Should drop unknown and duplicate keys")
+    void shouldDropUnknownKeys() {
+        // When
+        SortSpec spec = SortSpec.parse("price; drop table books,Title,-title");
+
+        // Then
+        assertEquals("title", spec.toString());
+        assertTrue(spec.supportsCursor());
+    }
+
+    @Test
+    @DisplayName("Should fall back to title when nothing is allowed")
+    void shouldFallBackToTitle() {
+        // Then
+        assertEquals(SortSpec.byTitle(), SortSpec.parse("publish_year"));
+        assertEquals(SortSpec.byTitle(), SortSpec.parse(null));
+        assertEquals("title", new PageRequest(0, 12, "").getSort());
+    }
+
+    @Test
+    @DisplayName("Should keep relevance as a separate mode ordered by title")
+    void shouldParseRelevance() {
+        // When
+        SortSpec spec = SortSpec.parse("relevance");
+
+        // Then
+        assertTrue(spec.isRelevance());
+        assertEquals("relevance", spec.toString());
+        assertEquals(SortField.TITLE, spec.getPrimaryKey().getField());
+        assertFalse(spec.supportsCursor());
+    }
+
+    @Test
+    @DisplayName("Should parse comment statistics keys without cursor support")
+    void shouldParseStatisticKeys() {
+        // When
+        SortSpec spec = SortSpec.parse("-comments,title");
+
+        // Then
+        assertEquals(List.of(
+                new SortKey(SortField.COMMENTS, true),
+                new SortKey(SortField.TITLE, false),
+                new SortKey(SortField.ID, false)), spec.getKeys());
+        assertTrue(spec.hasStatisticKey());
+        assertFalse(SortSpec.parse("activity").supportsCursor());
+        assertFalse(SortSpec.parse("author,-year").hasStatisticKey());
+    }
+}
\ No newline at end of file
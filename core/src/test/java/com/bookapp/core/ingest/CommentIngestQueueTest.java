@@ -0,0 +1,125 @@
+package com.bookapp.core.ingest;
+
+import com.bookapp.core.domain.Comment;
+import com.bookapp.core.exception.CommentQueueFullException;
+import com.bookapp.core.port.CommentRepositoryPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Юніт-тести для CommentIngestQueue
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CommentIngestQueue Tests")
+class CommentIngestQueueTest {
+
+    @Mock
+    private CommentRepositoryPort repository;
+
+    private CommentIngestQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    private static Comment comment(Long bookId, String author) {
+        return new Comment(null, bookId, author, "text", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should write a burst in a few batches and let the author read own comments")
+    void shouldGroupBurstIntoBatches() {
+        // Given
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            batchSizes.add(invocation.<List<Comment>>getArgument(0).size());
+            return null;
+        }).when(repository).addComments(anyList());
+        queue = new CommentIngestQueue(repository, 1000, 50, 50);
+        queue.start();
+
+        // When
+        for (int i = 0; i < 120; i++) {
+            queue.submit(comment(1L, "user" + (i % 3)));
+        }
+
+        // Then
+        assertTrue(queue.awaitFlushed("user2", 5000));
+        assertTrue(queue.awaitFlushed("user0", 5000));
+        assertEquals(120, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.size() < 120, "comments should be group-committed: " + batchSizes);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 50));
+    }
+
+    @Test
+    @DisplayName("Should reject comments when the queue is full")
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        // Given - запис першої порції зависає, черга заповнюється
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(repository).addComments(anyList());
+        queue = new CommentIngestQueue(repository, 2, 1, 0);
+        queue.start();
+
+        queue.submit(comment(1L, "ivan"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        queue.submit(comment(1L, "ivan"));
+        queue.submit(comment(1L, "ivan"));
+
+        // When & Then
+        assertThrows(CommentQueueFullException.class, () -> queue.submit(comment(1L, "ivan")));
+        assertFalse(queue.awaitFlushed("ivan", 50));
+        assertEquals(1, queue.stats().getRejected());
+
+        release.countDown();
+        assertTrue(queue.awaitFlushed("ivan", 5000));
+    }
+
+    @Test
+    @DisplayName("Should drop only the failing comment when a batch fails")
+    void shouldIsolateFailingComment() {
+        // Given - коментар до книги 404 порушує зовнішній ключ
+        List<Comment> written = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<Comment> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(c -> c.getBookId() == 404L)) {
+                throw new IllegalStateException("FK violation");
+            }
+            written.addAll(batch);
+            return null;
+        }).when(repository).addComments(anyList());
+        queue = new CommentIngestQueue(repository, 100, 10, 200);
+        queue.start();
+
+        // When
+        queue.submit(comment(1L, "ivan"));
+        queue.submit(comment(404L, "ivan"));
+        queue.submit(comment(2L, "ivan"));
+
+        // Then
+        assertTrue(queue.awaitFlushed("ivan", 5000));
+        assertEquals(2, written.size());
+        assertEquals(1, queue.stats().getDropped());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.bookapp.core.recommend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юніт-тести для CoOccurrenceGraph
+ */
+@DisplayName("CoOccurrenceGraph Tests")
+class CoOccurrenceGraphTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should rank neighbours by shared commenters and match incremental updates")
+    void shouldBuildSameGraphAsIncrementalUpdates() {
+        // Given - користувачі 1 і 2 коментували книги 10 і 20, користувач 3 - книги 10 і 30
+        long[] users = {1, 1, 2, 2, 3, 3};
+        long[] books = {10, 20, 10, 20, 10, 30};
+        int[] comments = {1, 2, 1, 1, 3, 1};
+
+        // When
+        CoOccurrenceGraph built = CoOccurrenceGraph.build(users, books, comments, users.length, pool);
+        CoOccurrenceGraph incremental = new CoOccurrenceGraph();
+        for (int i = 0; i < users.length; i++) {
+            for (int c = 0; c < comments[i]; c++) {
+                incremental.commentAdded(users[i], books[i]);
+            }
+        }
+
+        // Then
+        for (CoOccurrenceGraph graph : new CoOccurrenceGraph[]{built, incremental}) {
+            assertArrayEquals(new long[]{20, 30}, graph.neighbours(10, 5));
+            assertArrayEquals(new long[]{20}, graph.neighbours(10, 1));
+            assertArrayEquals(new long[]{10}, graph.neighbours(30, 5));
+            assertEquals(3, graph.userCount());
+            assertEquals(2, graph.linkCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop a link only when the last comment of the pair is removed")
+    void shouldRemoveLinkWithLastComment() {
+        // Given
+        CoOccurrenceGraph graph = new CoOccurrenceGraph();
+        graph.commentAdded(1, 10);
+        graph.commentAdded(1, 10);
+        graph.commentAdded(1, 20);
+
+        // When
+        graph.commentRemoved(1, 10);
+
+        // Then
+        assertArrayEquals(new long[]{20}, graph.neighbours(10, 5));
+
+        // When
+        graph.commentRemoved(1, 10);
+        graph.commentRemoved(1, 10);
+
+        // Then
+        assertArrayEquals(new long[0], graph.neighbours(10, 5));
+        assertArrayEquals(new long[0], graph.neighbours(20, 5));
+        assertEquals(0, graph.bookCount());
+    }
+
+    @Test
+    @DisplayName("Should keep entries reachable after many inserts and removals")
+    void shouldSurviveRehashAndRemoval() {
+        // Given
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = 1; key <= 10_000; key++) {
+            map.addTo(key, (int) key);
+        }
+
+        // When
+        for (long key = 1; key <= 10_000; key += 2) {
+            map.addTo(key, (int) -key);
+        }
+
+        // Then
+        assertEquals(5_000, map.size());
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals(key % 2 == 0 ? key : 0, map.get(key));
+        }
+    }
+}
\ No newline at end of file
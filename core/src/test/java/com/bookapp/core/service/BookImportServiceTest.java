@@ -0,0 +1,105 @@
+package com.bookapp.core.service;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.BookImportReport;
+import com.bookapp.core.domain.BookImportRow;
+import com.bookapp.core.port.CatalogRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Юніт-тести для масового імпорту книг
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookImportService Tests")
+class BookImportServiceTest {
+
+    @Mock
+    private CatalogRepositoryPort repository;
+
+    private BookImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new BookImportService(repository, 2);
+    }
+
+    private List<BookImportRow> rows(int count) {
+        List<BookImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new BookImportRow(i + 2, "Title " + i, "Author " + i, "978-" + i, "2000"));
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Should save valid rows in chunks")
+    @SuppressWarnings("unchecked")
+    void shouldSaveValidRowsInChunks() {
+        // Given
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BookImportReport report = importService.importBooks(rows(5).iterator());
+
+        // Then
+        ArgumentCaptor<List<Book>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(3)).saveAll(captor.capture());
+        assertEquals(List.of(2, 2, 1), captor.getAllValues().stream().map(List::size).toList());
+        assertEquals("Title 0", captor.getAllValues().get(0).get(0).getTitle());
+        assertEquals(2000, captor.getAllValues().get(0).get(0).getYear());
+        assertEquals(5, report.getTotalRows());
+        assertEquals(5, report.getImportedRows());
+        assertEquals(0, report.getFailedRows());
+    }
+
+    @Test
+    @DisplayName("Should report invalid rows with line numbers and keep importing")
+    void shouldReportInvalidRows() {
+        // Given
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<BookImportRow> rows = List.of(
+                new BookImportRow(2, " ", "Author", null, null),
+                new BookImportRow(3, "Title", "Author", "", "20x1"),
+                new BookImportRow(4, " Clean Code ", "Robert C. Martin", "", ""));
+
+        // When
+        BookImportReport report = importService.importBooks(rows.iterator());
+
+        // Then
+        assertEquals(3, report.getTotalRows());
+        assertEquals(1, report.getImportedRows());
+        assertEquals(2, report.getFailedRows());
+        assertEquals(List.of(2L, 3L), report.getErrors().stream().map(e -> e.getLineNumber()).toList());
+        verify(repository).saveAll(List.of(new Book(null, "Clean Code", "Robert C. Martin", null, null)));
+    }
+
+    @Test
+    @DisplayName("Should mark the whole chunk as failed when saving fails")
+    void shouldMarkChunkFailedWhenSaveFails() {
+        // Given
+        when(repository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("constraint violation"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BookImportReport report = importService.importBooks(rows(3).iterator());
+
+        // Then
+        assertEquals(1, report.getImportedRows());
+        assertEquals(2, report.getFailedRows());
+        assertTrue(report.getErrors().get(0).getMessage().contains("constraint violation"));
+    }
+}
\ No newline at end of file
@@ -1,17 +1,29 @@
 package com.bookapp.core.service;
 
+import com.bookapp.core.domain.Comment;
+import com.bookapp.core.domain.CursorPage;
+import com.bookapp.core.exception.BookNotFoundException;
+import com.bookapp.core.exception.BusinessException;
 import com.bookapp.core.exception.CommentTooOldException;
 import com.bookapp.core.exception.InvalidCommentDeleteException;
+import com.bookapp.core.exception.ValidationException;
+import com.bookapp.core.ingest.CommentIngestQueue;
+import com.bookapp.core.port.CatalogRepositoryPort;
 import com.bookapp.core.port.CommentRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -248,4 +260,107 @@ class CommentServiceTest {
         // Then
         verify(commentRepository, times(1)).deleteComment(commentId);
     }
+
+    // ========== Тести для посторінкового читання ==========
+
+    @Test
+    @DisplayName("Should return next cursor pointing at the last comment of a full page")
+    void shouldReturnNextCursorWhenMoreCommentsExist() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<Comment> rows = List.of(
+                new Comment(3L, 1L, "ivan", "c", createdAt),
+                new Comment(2L, 1L, "ivan", "b", createdAt),
+                new Comment(1L, 1L, "ivan", "a", createdAt));
+        when(commentRepository.findCommentsByBookId(1L, null, null, 3)).thenReturn(rows);
+        when(commentRepository.findCommentsByBookId(1L, createdAt, 2L, 3)).thenReturn(List.of(rows.get(2)));
+
+        // When
+        CursorPage<Comment> first = commentService.getCommentsByBookId(1L, null, 2);
+        CursorPage<Comment> second = commentService.getCommentsByBookId(1L, first.getNextCursor(), 2);
+
+        // Then
+        assertEquals(2, first.getContent().size());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(rows.get(2)), second.getContent());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should reject cursor that does not carry a timestamp")
+    void shouldRejectMalformedCursor() {
+        assertThrows(ValidationException.class,
+                () -> commentService.getCommentsByBookId(1L, "garbage", 20));
+        verifyNoInteractions(commentRepository);
+    }
+
+    // ========== Тести для пакетного видалення ==========
+
+    @Test
+    @DisplayName("Should delete batch with one repository call and 24h cutoff")
+    void shouldDeleteBatchWithCutoff() {
+        // Given
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(commentRepository.deleteComments(eq(1L), eq(Set.of(5L, 6L)), cutoff.capture())).thenReturn(1);
+
+        // When
+        int deleted = commentService.deleteAll(1L, List.of(5L, 6L, 5L));
+
+        // Then
+        assertEquals(1, deleted);
+        LocalDateTime expected = LocalDateTime.now().minusHours(24);
+        assertTrue(Math.abs(ChronoUnit.SECONDS.between(expected, cutoff.getValue())) < 5);
+        verify(commentRepository, times(1)).deleteComments(anyLong(), anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject empty batch and non-positive ids")
+    void shouldRejectInvalidBatch() {
+        assertThrows(InvalidCommentDeleteException.class, () -> commentService.deleteAll(1L, List.of()));
+        assertThrows(InvalidCommentDeleteException.class, () -> commentService.deleteAll(1L, List.of(3L, 0L)));
+        assertThrows(InvalidCommentDeleteException.class, () -> commentService.deleteAll(0L, List.of(3L)));
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    @DisplayName("Legacy delete should not read the comment when delete succeeds")
+    void legacyDeleteShouldUseSingleStatement() {
+        // Given
+        when(commentRepository.deleteComments(isNull(), eq(List.of(7L)), any())).thenReturn(1);
+
+        // When
+        commentService.deleteComment(7L);
+
+        // Then
+        verify(commentRepository, never()).findCommentById(any());
+    }
+
+    @Test
+    @DisplayName("Legacy delete should explain why nothing was deleted")
+    void legacyDeleteShouldReportTooOldComment() {
+        // Given
+        when(commentRepository.deleteComments(isNull(), eq(List.of(7L)), any())).thenReturn(0);
+        when(commentRepository.findCommentById(7L)).thenReturn(Optional.of(
+                new Comment(7L, 1L, "ivan", "old", LocalDateTime.now().minusDays(2))));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> commentService.deleteComment(7L));
+        assertTrue(exception.getMessage().contains("older than"));
+    }
+
+    @Test
+    @DisplayName("Async add should reject an unknown book before queueing")
+    void asyncAddShouldRejectUnknownBook() {
+        // Given
+        CommentIngestQueue queue = mock(CommentIngestQueue.class);
+        CatalogRepositoryPort catalog = mock(CatalogRepositoryPort.class);
+        when(catalog.findBookById(99L)).thenReturn(Optional.empty());
+        CommentService asyncService = new CommentService(commentRepository, queue, 0, catalog);
+
+        // When & Then
+        assertThrows(BookNotFoundException.class,
+                () -> asyncService.addComment(99L, "ivan", "text"));
+        verifyNoInteractions(queue);
+    }
 }
\ No newline at end of file
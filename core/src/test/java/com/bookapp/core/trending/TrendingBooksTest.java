@@ -0,0 +1,105 @@
+package com.bookapp.core.trending;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юніт-тести для TrendingBooks
+ */
+@DisplayName("TrendingBooks Tests")
+class TrendingBooksTest {
+
+    private static final long BUCKET_MILLIS = 60_000;
+
+    private final ManualClock clock = new ManualClock();
+
+    @Test
+    @DisplayName("Should rank books by weighted views and comments and keep top K")
+    void shouldRankByWeightedScore() {
+        // Given
+        TrendingBooks trending = new TrendingBooks(BUCKET_MILLIS, 3, 2, 1, 5, 1000, clock);
+        for (int i = 0; i < 7; i++) {
+            trending.recordView(1L);
+        }
+        trending.recordComment(2L);
+        trending.recordView(2L);
+        trending.recordView(3L);
+
+        // When
+        trending.publish();
+
+        // Then
+        List<TrendingEntry> top = trending.top();
+        assertEquals(List.of(1L, 2L), ids(top));
+        assertEquals(7, top.get(0).getScore());
+        assertEquals(6, top.get(1).getScore());
+        assertEquals(1, top.get(1).getComments());
+    }
+
+    @Test
+    @DisplayName("Should keep closed buckets inside the window and drop them after it")
+    void shouldSlideWindow() {
+        // Given
+        TrendingBooks trending = new TrendingBooks(BUCKET_MILLIS, 3, 5, 1, 5, 1000, clock);
+        trending.recordView(1L);
+        trending.publish();
+
+        // When - новий кошик: старий закривається на наступній публікації
+        clock.advance(BUCKET_MILLIS);
+        trending.publish();
+        trending.recordView(2L);
+        trending.publish();
+
+        // Then
+        assertEquals(List.of(1L, 2L), ids(trending.top()));
+
+        // When - кошик книги 1 вийшов за вікно з трьох кошиків
+        clock.advance(2 * BUCKET_MILLIS);
+        trending.publish();
+        trending.publish();
+
+        // Then
+        assertEquals(List.of(2L), ids(trending.top()));
+    }
+
+    private static List<Long> ids(List<TrendingEntry> entries) {
+        return entries.stream().map(TrendingEntry::getBookId).collect(Collectors.toList());
+    }
+
+    private static final class ManualClock extends Clock {
+        private long millis = 10 * BUCKET_MILLIS;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.bookapp.core.views;
+
+import com.bookapp.core.port.BookViewCountPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Юніт-тести для BookViewCounter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookViewCounter Tests")
+class BookViewCounterTest {
+
+    @Mock
+    private BookViewCountPort repository;
+
+    @Test
+    @DisplayName("Should write aggregated views per book in one call")
+    void shouldFlushAggregatedDeltas() {
+        // Given
+        BookViewCounter counter = new BookViewCounter(repository, 60_000, 1000);
+        counter.recordView(1L);
+        counter.recordView(1L);
+        counter.recordView(2L);
+
+        // When
+        long flushed = counter.flush();
+
+        // Then
+        assertEquals(3, flushed);
+        verify(repository).addViews(Map.of(1L, 2L, 2L, 1L));
+        assertEquals(0, counter.flush());
+        verifyNoMoreInteractions(repository);
+        assertEquals(0, counter.stats().getPending());
+    }
+
+    @Test
+    @DisplayName("Should keep views for the next flush when writing fails")
+    void shouldRetainViewsOnFailure() {
+        // Given
+        BookViewCounter counter = new BookViewCounter(repository, 60_000, 1000);
+        counter.recordView(1L);
+        doThrow(new IllegalStateException("database is down")).doNothing().when(repository).addViews(anyMap());
+
+        // When
+        assertThrows(IllegalStateException.class, counter::flush);
+        counter.recordView(1L);
+        counter.flush();
+
+        // Then
+        verify(repository).addViews(Map.of(1L, 1L));
+        verify(repository).addViews(Map.of(1L, 2L));
+        assertEquals(1, counter.stats().getFailures());
+        assertEquals(2, counter.stats().getFlushed());
+    }
+
+    @Test
+    @DisplayName("Should keep flushing early with a growing pause while writing fails")
+    void shouldRetryEarlyFlushWithBackoff() throws Exception {
+        // Given
+        AtomicLong nanoTime = new AtomicLong();
+        BookViewCounter counter = new BookViewCounter(repository, 60_000, 2, nanoTime::get);
+        doThrow(new IllegalStateException("database is down")).when(repository).addViews(anyMap());
+
+        try {
+            // When & Then - перша позачергова спроба одразу
+            counter.recordView(1L);
+            counter.recordView(1L);
+            awaitFailures(counter, 1);
+
+            // до кінця паузи нових спроб немає
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(BookViewCounter.RETRY_BACKOFF_MILLIS - 1));
+            counter.recordView(1L);
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            counter.recordView(1L);
+            awaitFailures(counter, 2);
+
+            // пауза подвоюється
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(BookViewCounter.RETRY_BACKOFF_MILLIS));
+            counter.recordView(1L);
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(BookViewCounter.RETRY_BACKOFF_MILLIS));
+            doNothing().when(repository).addViews(anyMap());
+            counter.recordView(1L);
+            awaitFlushed(counter, 6);
+
+            verify(repository, times(3)).addViews(anyMap());
+            assertEquals(2, counter.stats().getFailures());
+            assertEquals(0, counter.stats().getPending());
+        } finally {
+            counter.close();
+        }
+    }
+
+    private static void awaitFailures(BookViewCounter counter, long failures) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (counter.stats().getFailures() < failures) {
+            assertTrue(System.currentTimeMillis() < deadline, "Flush was not attempted");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitFlushed(BookViewCounter counter, long flushed) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (counter.stats().getFlushed() < flushed) {
+            assertTrue(System.currentTimeMillis() < deadline, "Flush was not attempted");
+            Thread.sleep(5);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.bookapp.persistence.adapter;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.port.BookRecommendationPort;
+import com.bookapp.persistence.recommend.CommentCoOccurrenceIndex;
+import com.bookapp.persistence.search.BookSearchIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * "Читачі також обговорювали": сусіди з графа спільних коментарів, книги - з індексу пошуку.
+ * Обидва в пам'яті, тож сторінка книги не отримує жодного додаткового запиту до БД
+ */
+@Component
+public class BookRecommendationAdapter implements BookRecommendationPort {
+
+    private final CommentCoOccurrenceIndex coOccurrence;
+    private final BookSearchIndex searchIndex;
+
+    public BookRecommendationAdapter(CommentCoOccurrenceIndex coOccurrence, BookSearchIndex searchIndex) {
+        this.coOccurrence = coOccurrence;
+        this.searchIndex = searchIndex;
+    }
+
+    @Override
+    public List<Book> findAlsoDiscussed(Long bookId, int limit) {
+        // Із запасом: видалена книга може лишатися в графі до наступної перебудови
+        long[] ids = coOccurrence.neighbours(bookId, limit * 2);
+        List<Book> books = new ArrayList<>(Math.min(ids.length, limit));
+        for (long id : ids) {
+            Book book = searchIndex.get(id);
+            if (book != null) {
+                books.add(book);
+                if (books.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return books;
+    }
+}
\ No newline at end of file
@@ -1,94 +1,610 @@
 package com.bookapp.persistence.adapter;
 
 import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.BookFilter;
+import com.bookapp.core.domain.CursorPage;
+import com.bookapp.core.domain.CursorPageRequest;
+import com.bookapp.core.domain.FacetedPage;
+import com.bookapp.core.domain.Facets;
 import com.bookapp.core.domain.Page;
+import com.bookapp.core.domain.PageCursor;
 import com.bookapp.core.domain.PageRequest;
+import com.bookapp.core.domain.Slice;
+import com.bookapp.core.domain.SortField;
+import com.bookapp.core.domain.SortKey;
+import com.bookapp.core.domain.SortSpec;
+import com.bookapp.core.domain.Suggestion;
 import com.bookapp.core.port.CatalogRepositoryPort;
 import com.bookapp.persistence.entity.BookEntity;
 import com.bookapp.persistence.repository.BookRepository;
+import com.bookapp.persistence.repository.BookRepository.BookView;
+import com.bookapp.persistence.search.BookFacetIndex;
+import com.bookapp.persistence.search.BookSearchIndex;
+import com.bookapp.persistence.search.BookSuggestIndex;
+import com.bookapp.persistence.search.RankedHits;
+import com.bookapp.persistence.search.SearchEngine;
+import com.bookapp.persistence.stats.BookStatsStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
 public class CatalogRepositoryAdapter implements CatalogRepositoryPort {
 
     private static final Logger log = LoggerFactory.getLogger(CatalogRepositoryAdapter.class);
+    private static final String EXPORT_SQL =
+            "SELECT id, title, author, isbn, publish_year FROM books ORDER BY id";
     private final BookRepository bookRepository;
+    private final BookSearchIndex searchIndex;
+    private final BookSuggestIndex suggestIndex;
+    private final BookFacetIndex facetIndex;
+    private final SearchEngine searchEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final BookStatsStore bookStats;
+    private final int exportFetchSize;
 
-    public CatalogRepositoryAdapter(BookRepository bookRepository) {
+    public CatalogRepositoryAdapter(
+            BookRepository bookRepository,
+            BookSearchIndex searchIndex,
+            BookSuggestIndex suggestIndex,
+            BookFacetIndex facetIndex,
+            @Value("${app.catalog.search-engine:index}") SearchEngine searchEngine,
+            JdbcTemplate jdbcTemplate,
+            BookStatsStore bookStats,
+            @Value("${app.catalog.export.fetch-size:500}") int exportFetchSize) {
         this.bookRepository = bookRepository;
-        log.info("CatalogRepositoryAdapter initialized");
+        this.searchIndex = searchIndex;
+        this.suggestIndex = suggestIndex;
+        this.facetIndex = facetIndex;
+        this.searchEngine = searchEngine;
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookStats = bookStats;
+        this.exportFetchSize = exportFetchSize;
+        log.info("CatalogRepositoryAdapter initialized with search engine: {}", searchEngine);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<Book> findBooks(String query, PageRequest pageRequest) {
-        Sort sort = Sort.by(pageRequest.getSort());
-        org.springframework.data.domain.PageRequest springPageRequest =
-                org.springframework.data.domain.PageRequest.of(
-                        pageRequest.getPage(),
-                        pageRequest.getSize(),
-                        sort
-                );
+        if (query == null || query.trim().isEmpty()) {
+            return toPage(bookRepository.findBookPage(
+                    toSpringPageRequest(pageRequest, toSort(pageRequest.getSortSpec()))), pageRequest);
+        }
+        if (pageRequest.isFuzzy() || pageRequest.getSortSpec().isRelevance()) {
+            // Нечіткий пошук і релевантність підтримує лише індекс у пам'яті, незалежно від обраного рушія
+            return findBooksByIndex(query, pageRequest);
+        }
 
-        org.springframework.data.domain.Page<BookEntity> entityPage;
+        switch (searchEngine) {
+            case FULLTEXT:
+                return toPage(bookRepository.searchFullText(query,
+                        toSpringPageRequest(pageRequest, nativeSort(pageRequest.getSortSpec())))
+                        .map(this::toDomain), pageRequest);
+            case STREAM:
+                return findBooksByStreamFilter(query, pageRequest);
+            default:
+                return findBooksByIndex(query, pageRequest);
+        }
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Book> findBooks(String query, CursorPageRequest pageRequest) {
+        String sort = keysetSort(pageRequest.getSortSpec());
+        int size = pageRequest.getSize();
+        PageCursor cursor = pageRequest.getCursor();
+        boolean backward = pageRequest.isBackward();
+
+        // Читаємо на один рядок більше, ніж потрібно, щоб знати, чи є ще елементи
+        List<Book> rows;
         if (query == null || query.trim().isEmpty()) {
-            entityPage = bookRepository.findAll(springPageRequest);
+            rows = findKeysetRows(sort, cursor, backward, size + 1);
+        } else if (searchEngine == SearchEngine.INDEX) {
+            rows = searchKeysetRows(query, sort, cursor, backward, size + 1);
         } else {
-            // Простий пошук по всіх записах (можна покращити через custom query)
-            List<BookEntity> allBooks = bookRepository.findAll(sort);
-            String lowerQuery = query.toLowerCase();
+            // Викликач перевіряє supportsCursorSearch(); рушій мовчки не підміняємо
+            throw new UnsupportedOperationException(
+                    "Cursor paging is not supported by search engine " + searchEngine);
+        }
 
-            List<BookEntity> filtered = allBooks.stream()
-                    .filter(book ->
-                            book.getTitle().toLowerCase().contains(lowerQuery) ||
-                                    book.getAuthor().toLowerCase().contains(lowerQuery) ||
-                                    (book.getIsbn() != null && book.getIsbn().toLowerCase().contains(lowerQuery))
-                    )
-                    .collect(Collectors.toList());
+        boolean hasMore = rows.size() > size;
+        List<Book> content = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (backward) {
+            Collections.reverse(content);
+        }
 
-            int start = pageRequest.getOffset();
-            int end = Math.min(start + pageRequest.getSize(), filtered.size());
-            List<BookEntity> pageContent = filtered.subList(
-                    Math.min(start, filtered.size()),
-                    end
-            );
+        String nextCursor = null;
+        String previousCursor = null;
+        if (!content.isEmpty()) {
+            boolean moreAfter = backward || hasMore;
+            boolean moreBefore = backward ? hasMore : cursor != null;
+            if (moreAfter) {
+                nextCursor = cursorOf(content.get(content.size() - 1), sort).encode();
+            }
+            if (moreBefore) {
+                previousCursor = cursorOf(content.get(0), sort).encode();
+            }
+        }
 
-            List<Book> books = pageContent.stream()
-                    .map(this::toDomain)
-                    .collect(Collectors.toList());
+        return new CursorPage<>(content, size, nextCursor, previousCursor);
+    }
 
-            return new Page<>(books, pageRequest.getPage(), pageRequest.getSize(), filtered.size());
+    /**
+     * Keyset-курсор пошуку є лише в індексі в пам'яті; fulltext і stream гортаються посторінково
+     */
+    @Override
+    public boolean supportsCursorSearch() {
+        return searchEngine == SearchEngine.INDEX;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Book> findBookSlice(String query, PageRequest pageRequest) {
+        if (query == null || query.trim().isEmpty()) {
+            return toSlice(bookRepository.findBookSlice(
+                    toSpringPageRequest(pageRequest, toSort(pageRequest.getSortSpec()))), pageRequest);
+        }
+        if (pageRequest.isFuzzy() || pageRequest.getSortSpec().isRelevance()) {
+            return toSlice(findBooksByIndex(query, pageRequest));
         }
 
-        List<Book> books = entityPage.getContent().stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+        switch (searchEngine) {
+            case FULLTEXT:
+                return toSlice(bookRepository.searchFullTextSlice(query,
+                        toSpringPageRequest(pageRequest, nativeSort(pageRequest.getSortSpec())))
+                        .map(this::toDomain), pageRequest);
+            case STREAM:
+                return findBookSliceByStreamFilter(query, pageRequest);
+            default:
+                return toSlice(findBooksByIndex(query, pageRequest));
+        }
+    }
+
+    /**
+     * Фасетний пошук повністю в пам'яті: текстовий індекс дає кандидатів,
+     * фасетний - фільтр і лічильники; з БД читається лише поточна сторінка
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public FacetedPage<Book> findBooks(String query, BookFilter filter, PageRequest pageRequest) {
+        if (pageRequest.getSortSpec().isRelevance() && query != null && !query.trim().isEmpty()) {
+            long[] candidates = searchIndex.searchIds(query, pageRequest.isFuzzy());
+            BookFacetIndex.Result result = facetIndex.search(candidates, filter);
+            RankedHits hits = searchIndex.searchByRelevance(query, pageRequest.isFuzzy(),
+                    pageRequest.getOffset() + pageRequest.getSize(), result::contains);
+            return new FacetedPage<>(toRankedPage(hits, pageRequest), result.getFacets());
+        }
 
-        return new Page<>(books, pageRequest.getPage(), pageRequest.getSize(), entityPage.getTotalElements());
+        long[] candidates = searchCandidates(query, pageRequest.isFuzzy());
+        BookFacetIndex.Result result = facetIndex.search(candidates, filter);
+        return new FacetedPage<>(findPageInOrder(result.toArray(), pageRequest), result.getFacets());
+    }
+
+    @Override
+    public Facets countFacets(String query, BookFilter filter) {
+        long[] candidates = searchCandidates(query, false);
+        return facetIndex.search(candidates, filter).getFacets();
+    }
+
+    /**
+     * @return id книг за текстовим запитом або null для порожнього запиту (весь каталог)
+     */
+    private long[] searchCandidates(String query, boolean fuzzy) {
+        if (query == null || query.trim().isEmpty()) {
+            return null;
+        }
+        return searchIndex.searchIds(query, fuzzy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countBooks(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return bookRepository.count();
+        }
+
+        switch (searchEngine) {
+            case FULLTEXT:
+                return bookRepository.countFullText(query);
+            case STREAM:
+                String lowerQuery = query.toLowerCase();
+                return bookRepository.findBooks(Sort.unsorted()).stream()
+                        .filter(book -> matchesQuery(book, lowerQuery))
+                        .count();
+            default:
+                return searchIndex.count(query);
+        }
+    }
+
+    @Override
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return suggestIndex.suggest(prefix, limit);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Book> findBookById(Long id) {
+        // Пошук за id обслуговує кеш другого рівня, тому тут сутність, а не проекція
+        // (і без статистики коментарів - сторінка книги показує самі коментарі)
         return bookRepository.findById(id).map(this::toDomain);
     }
 
+    /**
+     * Експорт через JDBC, а не JPA: forward-only курсор читає рядки порціями
+     * по fetch size, а сутності не накопичуються в контексті персистентності.
+     * Транзакція потрібна драйверам, які тримають курсор лише поза autocommit
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBooks(Consumer<Book> consumer) {
+        long[] exported = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            consumer.accept(new Book(
+                    resultSet.getLong("id"),
+                    resultSet.getString("title"),
+                    resultSet.getString("author"),
+                    resultSet.getString("isbn"),
+                    resultSet.getObject("publish_year", Integer.class)));
+            exported[0]++;
+        });
+        return exported[0];
+    }
+
     @Override
     @Transactional
     public Book save(Book book) {
         BookEntity entity = toEntity(book);
         BookEntity saved = bookRepository.save(entity);
         log.info("Book saved: id={}", saved.getId());
-        return toDomain(saved);
+
+        Book savedBook = toDomain(saved);
+        afterCommit(() -> {
+            searchIndex.index(savedBook);
+            suggestIndex.index(savedBook);
+            facetIndex.index(savedBook);
+        });
+        return savedBook;
+    }
+
+    /**
+     * id книг беруться блоками з послідовності, тому Hibernate відправляє INSERT
+     * пакетами (hibernate.jdbc.batch_size); індекси оновлюються один раз після коміту
+     */
+    @Override
+    @Transactional
+    public List<Book> saveAll(List<Book> books) {
+        List<BookEntity> entities = books.stream()
+                .map(this::toEntity)
+                .collect(Collectors.toList());
+
+        List<Book> savedBooks = bookRepository.saveAll(entities).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+        log.info("Books saved: {}", savedBooks.size());
+
+        afterCommit(() -> {
+            for (Book savedBook : savedBooks) {
+                searchIndex.index(savedBook);
+                suggestIndex.index(savedBook);
+                facetIndex.index(savedBook);
+            }
+        });
+        return savedBooks;
+    }
+
+    private Page<Book> findBooksByIndex(String query, PageRequest pageRequest) {
+        if (pageRequest.getSortSpec().isRelevance()) {
+            // Повний порядок не потрібен: відбираємо лише книги до кінця поточної сторінки
+            return toRankedPage(searchIndex.searchByRelevance(query, pageRequest.isFuzzy(),
+                    pageRequest.getOffset() + pageRequest.getSize(), null), pageRequest);
+        }
+
+        SortSpec sortSpec = pageRequest.getSortSpec();
+        if (sortSpec.hasStatisticKey()) {
+            return findPageInOrder(searchIndex.searchIds(query, pageRequest.isFuzzy()), pageRequest);
+        }
+
+        // Індекс повертає id усіх збігів у потрібному порядку, з БД читаємо лише поточну сторінку
+        long[] matches = searchIndex.search(query, sortSpec, pageRequest.isFuzzy());
+
+        int start = Math.min(pageRequest.getOffset(), matches.length);
+        int end = Math.min(start + pageRequest.getSize(), matches.length);
+
+        List<Book> books = findAllInOrder(matches, start, end);
+        return new Page<>(books, pageRequest.getPage(), pageRequest.getSize(), matches.length);
+    }
+
+    private Page<Book> toRankedPage(RankedHits hits, PageRequest pageRequest) {
+        long[] ranked = hits.getIds();
+        int start = Math.min(pageRequest.getOffset(), ranked.length);
+        List<Book> books = findAllInOrder(ranked, start, ranked.length);
+        return new Page<>(books, pageRequest.getPage(), pageRequest.getSize(), hits.getTotal());
+    }
+
+    /**
+     * Сторінка набору збігів у потрібному порядку. Зазвичай - за наперед відсортованим порядком
+     * індексу; статистики коментарів у ньому немає, тож таке сортування разом з LIMIT/OFFSET
+     * виконує БД над book_stats, а не сортування всіх збігів у пам'яті
+     */
+    private Page<Book> findPageInOrder(long[] ids, PageRequest pageRequest) {
+        SortSpec sortSpec = pageRequest.getSortSpec();
+        if (sortSpec.hasStatisticKey()) {
+            long[] page = bookStats.findPage(ids, sortSpec, pageRequest.getOffset(), pageRequest.getSize());
+            return new Page<>(findAllInOrder(page, 0, page.length),
+                    pageRequest.getPage(), pageRequest.getSize(), ids.length);
+        }
+
+        long[] matches = searchIndex.sort(ids, sortSpec);
+        int start = Math.min(pageRequest.getOffset(), matches.length);
+        int end = Math.min(start + pageRequest.getSize(), matches.length);
+        return new Page<>(findAllInOrder(matches, start, end),
+                pageRequest.getPage(), pageRequest.getSize(), matches.length);
+    }
+
+    /**
+     * Keyset-запит до БД: сторінка починається одразу після (або перед) курсором,
+     * тому глибина сторінки не впливає на вартість запиту
+     */
+    private List<Book> findKeysetRows(String sort, PageCursor cursor, boolean backward, int limit) {
+        if (cursor == null) {
+            return bookRepository.findBooks(
+                    org.springframework.data.domain.PageRequest.of(0, limit, Sort.by(sort, "id")));
+        }
+
+        org.springframework.data.domain.PageRequest first = org.springframework.data.domain.PageRequest.of(0, limit);
+        switch (sort) {
+            case "author":
+                return backward
+                        ? bookRepository.findByAuthorBefore(cursor.getSortKey(), cursor.getId(), first)
+                        : bookRepository.findByAuthorAfter(cursor.getSortKey(), cursor.getId(), first);
+            case "id":
+                return backward
+                        ? bookRepository.findByIdBefore(cursor.getId(), first)
+                        : bookRepository.findByIdAfter(cursor.getId(), first);
+            default:
+                return backward
+                        ? bookRepository.findByTitleBefore(cursor.getSortKey(), cursor.getId(), first)
+                        : bookRepository.findByTitleAfter(cursor.getSortKey(), cursor.getId(), first);
+        }
+    }
+
+    /**
+     * Keyset-пагінація результатів пошуку: позиція курсора знаходиться
+     * бінарним пошуком у відсортованому списку збігів з індексу
+     */
+    private List<Book> searchKeysetRows(String query, String sort, PageCursor cursor, boolean backward, int limit) {
+        long[] matches = searchIndex.search(query, SortSpec.parse(sort));
+
+        long[] window;
+        if (cursor == null) {
+            window = Arrays.copyOf(matches, Math.min(limit, matches.length));
+        } else if (backward) {
+            int end = firstNotBefore(matches, sort, cursor, false);
+            int start = Math.max(0, end - limit);
+            window = new long[end - start];
+            for (int i = 0; i < window.length; i++) {
+                window[i] = matches[end - 1 - i];
+            }
+        } else {
+            int start = firstNotBefore(matches, sort, cursor, true);
+            window = Arrays.copyOfRange(matches, start, Math.min(matches.length, start + limit));
+        }
+
+        return findAllInOrder(window, 0, window.length);
+    }
+
+    /**
+     * Індекс першого збігу, що йде після курсора (strictlyAfter) або не раніше за нього
+     */
+    private int firstNotBefore(long[] matches, String sort, PageCursor cursor, boolean strictlyAfter) {
+        int low = 0;
+        int high = matches.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Book book = searchIndex.get(matches[mid]);
+            int cmp = compareToCursor(book, sort, cursor);
+            if (cmp < 0 || (strictlyAfter && cmp == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compareToCursor(Book book, String sort, PageCursor cursor) {
+        int cmp = "id".equals(sort) ? 0 : keyOf(book, sort).compareTo(cursor.getSortKey());
+        return cmp != 0 ? cmp : Long.compare(book.getId(), cursor.getId());
+    }
+
+    private PageCursor cursorOf(Book book, String sort) {
+        return new PageCursor("id".equals(sort) ? "" : keyOf(book, sort), book.getId());
+    }
+
+    private String keyOf(Book book, String sort) {
+        return "author".equals(sort) ? book.getAuthor() : book.getTitle();
+    }
+
+    /**
+     * Keyset-пагінація підтримує один ключ з NOT NULL колонки, для решти - сортування за назвою
+     */
+    private String keysetSort(SortSpec sort) {
+        return sort.supportsCursor() ? sort.getPrimaryKey().getField().getName() : "title";
+    }
+
+    private Page<Book> findBooksByStreamFilter(String query, PageRequest pageRequest) {
+        // Простий пошук по всіх записах
+        List<Book> allBooks = bookRepository.findBooks(toSort(pageRequest.getSortSpec()));
+        String lowerQuery = query.toLowerCase();
+
+        List<Book> filtered = allBooks.stream()
+                .filter(book -> matchesQuery(book, lowerQuery))
+                .collect(Collectors.toList());
+
+        int start = pageRequest.getOffset();
+        int end = Math.min(start + pageRequest.getSize(), filtered.size());
+        List<Book> books = new ArrayList<>(filtered.subList(
+                Math.min(start, filtered.size()),
+                end
+        ));
+
+        return new Page<>(books, pageRequest.getPage(), pageRequest.getSize(), filtered.size());
+    }
+
+    private Slice<Book> findBookSliceByStreamFilter(String query, PageRequest pageRequest) {
+        // Фільтр зупиняється, щойно набрано size + 1 збігів після зміщення
+        String lowerQuery = query.toLowerCase();
+        List<Book> rows = bookRepository.findBooks(toSort(pageRequest.getSortSpec())).stream()
+                .filter(book -> matchesQuery(book, lowerQuery))
+                .skip(pageRequest.getOffset())
+                .limit(pageRequest.getSize() + 1L)
+                .collect(Collectors.toList());
+
+        boolean hasNext = rows.size() > pageRequest.getSize();
+        List<Book> books = hasNext ? rows.subList(0, pageRequest.getSize()) : rows;
+        return new Slice<>(books, pageRequest.getPage(), pageRequest.getSize(), hasNext);
+    }
+
+    private boolean matchesQuery(Book book, String lowerQuery) {
+        return book.getTitle().toLowerCase().contains(lowerQuery) ||
+                book.getAuthor().toLowerCase().contains(lowerQuery) ||
+                (book.getIsbn() != null && book.getIsbn().toLowerCase().contains(lowerQuery));
+    }
+
+    /**
+     * Індекс і так знає всі збіги, тому кількість віддаємо одразу
+     */
+    private Slice<Book> toSlice(Page<Book> page) {
+        return new Slice<>(page.getContent(), page.getPageNumber(), page.getPageSize(),
+                page.hasNext(), page.getTotalElements());
+    }
+
+    private Slice<Book> toSlice(org.springframework.data.domain.Slice<Book> slice, PageRequest pageRequest) {
+        return new Slice<>(slice.getContent(), pageRequest.getPage(), pageRequest.getSize(), slice.hasNext());
+    }
+
+    private Page<Book> toPage(org.springframework.data.domain.Page<Book> page, PageRequest pageRequest) {
+        return new Page<>(page.getContent(), pageRequest.getPage(), pageRequest.getSize(), page.getTotalElements());
+    }
+
+    private org.springframework.data.domain.PageRequest toSpringPageRequest(PageRequest pageRequest, Sort sort) {
+        return org.springframework.data.domain.PageRequest.of(
+                pageRequest.getPage(),
+                pageRequest.getSize(),
+                sort
+        );
+    }
+
+    /**
+     * Сортування за полями сутності; дозволені лише поля SortField, тож довільна
+     * колонка з параметра запиту сюди не потрапить
+     */
+    private Sort toSort(SortSpec spec) {
+        return toSort(spec, false);
+    }
+
+    /**
+     * Сортування для native-запитів: назви колонок таблиці books, а не полів сутності
+     */
+    private Sort nativeSort(SortSpec spec) {
+        return toSort(spec, true);
+    }
+
+    private Sort toSort(SortSpec spec, boolean nativeColumns) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (SortKey key : spec.getKeys()) {
+            String property;
+            switch (key.getField()) {
+                case AUTHOR:
+                    property = "author";
+                    break;
+                case YEAR:
+                    property = nativeColumns ? "publish_year" : "publishYear";
+                    break;
+                case COMMENTS:
+                    property = nativeColumns ? "s.comment_count" : "s.commentCount";
+                    break;
+                case ACTIVITY:
+                    property = nativeColumns ? "s.last_comment_at" : "s.lastCommentAt";
+                    break;
+                case ID:
+                    property = "id";
+                    break;
+                default:
+                    property = "title";
+            }
+            Sort.Order order = key.isDescending() ? Sort.Order.desc(property) : Sort.Order.asc(property);
+            if (key.getField() == SortField.YEAR || key.getField() == SortField.ACTIVITY) {
+                // Книги без року (без коментарів) - в кінці за будь-якого напрямку, як і в індексі в пам'яті
+                order = order.nullsLast();
+            } else if (key.getField() == SortField.COMMENTS) {
+                // Немає рядка в book_stats - нуль коментарів
+                order = key.isDescending() ? order.nullsLast() : order.nullsFirst();
+            }
+            orders.add(order);
+        }
+        return Sort.by(orders);
+    }
+
+    private List<Book> findAllInOrder(long[] ids, int from, int to) {
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(ids[i]);
+        }
+        if (pageIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Book> byId = new HashMap<>();
+        for (Book book : bookRepository.findBooksByIdIn(pageIds)) {
+            byId.put(book.getId(), book);
+        }
+
+        return pageIds.stream()
+                .map(byId::get)
+                .filter(book -> book != null)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Виконання дії після успішного коміту поточної транзакції
+     * (щоб індекс не бачив даних транзакції, яка відкотилась)
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     private Book toDomain(BookEntity entity) {
@@ -101,6 +617,11 @@ public class CatalogRepositoryAdapter implements CatalogRepositoryPort {
         );
     }
 
+    private Book toDomain(BookView view) {
+        return new Book(view.getId(), view.getTitle(), view.getAuthor(), view.getIsbn(), view.getPublishYear(),
+                view.getCommentCount(), view.getLastCommentAt(), view.getViewCount());
+    }
+
     private BookEntity toEntity(Book book) {
         return new BookEntity(
                 book.getId(),
@@ -1,112 +1,290 @@
 package com.bookapp.persistence.adapter;
 
+import com.bookapp.core.cache.BoundedCache;
 import com.bookapp.core.domain.Comment;
+import com.bookapp.core.port.CommentNotificationPort;
 import com.bookapp.core.port.CommentRepositoryPort;
-import com.bookapp.persistence.entity.BookEntity;
 import com.bookapp.persistence.entity.CommentEntity;
 import com.bookapp.persistence.entity.UserEntity;
+import com.bookapp.persistence.recommend.CommentCoOccurrenceIndex;
 import com.bookapp.persistence.repository.BookRepository;
 import com.bookapp.persistence.repository.CommentRepository;
+import com.bookapp.persistence.repository.CommentRepository.DeletedComment;
 import com.bookapp.persistence.repository.UserRepository;
+import com.bookapp.persistence.stats.BookStatsStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Component
 public class CommentRepositoryAdapter implements CommentRepositoryPort {
 
     private static final Logger log = LoggerFactory.getLogger(CommentRepositoryAdapter.class);
 
+    private static final String INSERT_SQL =
+            "INSERT INTO comments (book_id, user_id, text, created_at) VALUES (?, ?, ?, ?)";
+
     private final CommentRepository commentRepository;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    // Живі оновлення сторінок, рейтинг популярних книг
+    private final List<CommentNotificationPort> notifications;
+    private final BookStatsStore bookStats;
+    private final CommentCoOccurrenceIndex coOccurrence;
+
+    // username -> id: id користувача не змінюється, тож TTL лише страхує від перейменування
+    private final BoundedCache<String, Long> userIds;
 
     public CommentRepositoryAdapter(
             CommentRepository commentRepository,
             BookRepository bookRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            List<CommentNotificationPort> notifications,
+            BookStatsStore bookStats,
+            CommentCoOccurrenceIndex coOccurrence,
+            @Value("${app.comments.user-id-cache.max-size:10000}") int userIdCacheSize,
+            @Value("${app.comments.user-id-cache.ttl-ms:600000}") long userIdCacheTtlMillis) {
         this.commentRepository = commentRepository;
         this.bookRepository = bookRepository;
         this.userRepository = userRepository;
-        log.info("CommentRepositoryAdapter initialized");
+        this.jdbcTemplate = jdbcTemplate;
+        this.notifications = notifications;
+        this.bookStats = bookStats;
+        this.coOccurrence = coOccurrence;
+        this.userIds = new BoundedCache<>(userIdCacheSize, userIdCacheTtlMillis);
+        log.info("CommentRepositoryAdapter initialized: userIdCacheSize={}", userIdCacheSize);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Comment> findCommentsByBookId(Long bookId) {
-        return commentRepository.findByBookId(bookId).stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+        return commentRepository.findCommentsByBookId(bookId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Comment> findCommentsByUserId(Long userId) {
-        return commentRepository.findByUserId(userId).stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+        return commentRepository.findCommentsByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> findCommentsByBookId(Long bookId, LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        PageRequest first = PageRequest.of(0, limit);
+        return beforeCreatedAt == null
+                ? commentRepository.findLatestByBookId(bookId, first)
+                : commentRepository.findByBookIdBefore(bookId, beforeCreatedAt, beforeId, first);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> findCommentsByUserId(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        PageRequest first = PageRequest.of(0, limit);
+        return beforeCreatedAt == null
+                ? commentRepository.findLatestByUserId(userId, first)
+                : commentRepository.findByUserIdBefore(userId, beforeCreatedAt, beforeId, first);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countCommentsByUserId(Long userId) {
+        return commentRepository.countByUserId(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Comment> findCommentById(Long id) {
-        return commentRepository.findById(id).map(this::toDomain);
+        return commentRepository.findCommentById(id);
     }
 
     @Override
     @Transactional
     public Comment addComment(Long bookId, String author, String text) {
-        BookEntity book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new RuntimeException("Book not found: " + bookId));
-
-        // Знаходимо або створюємо користувача за іменем
-        UserEntity user = userRepository.findAll().stream()
-                .filter(u -> u.getUsername().equals(author))
-                .findFirst()
-                .orElseGet(() -> {
-                    UserEntity newUser = new UserEntity();
-                    newUser.setUsername(author);
-                    newUser.setPassword("default"); // В реальному додатку - хешування
-                    newUser.setRole("USER");
-                    return userRepository.save(newUser);
-                });
+        Long userId = resolveUserId(author);
 
+        // Посилання замість завантаження: вставка коментаря - один INSERT,
+        // існування книги та користувача перевіряють зовнішні ключі
         CommentEntity comment = new CommentEntity();
-        comment.setBook(book);
-        comment.setUser(user);
+        comment.setBook(bookRepository.getReferenceById(bookId));
+        comment.setUser(userRepository.getReferenceById(userId));
         comment.setText(text);
         comment.setCreatedAt(LocalDateTime.now());
 
-        CommentEntity saved = commentRepository.save(comment);
-        log.info("Comment added: id={}, bookId={}, userId={}", saved.getId(), bookId, user.getId());
+        CommentEntity saved;
+        try {
+            saved = commentRepository.save(comment);
+        } catch (DataIntegrityViolationException e) {
+            // Закешований id автора міг застаріти - наступна спроба перечитає його з БД
+            userIds.invalidate(author);
+            throw new RuntimeException("Book or user not found: bookId=" + bookId + ", author=" + author, e);
+        }
+        log.info("Comment added: id={}, bookId={}, userId={}", saved.getId(), bookId, userId);
 
-        return toDomain(saved);
+        Comment added = new Comment(saved.getId(), bookId, author, saved.getText(), saved.getCreatedAt());
+        bookStats.commentsAdded(List.of(added));
+        afterCommit(() -> {
+            notifyAdded(List.of(added));
+            coOccurrence.commentsAdded(new long[]{saved.getId()}, new long[]{userId}, new long[]{bookId});
+        });
+        return added;
+    }
+
+    /**
+     * Порція з черги асинхронного запису: один коміт і один пакет INSERT
+     * (IDENTITY-ключі не дають Hibernate групувати вставки, тому напряму через JDBC)
+     */
+    @Override
+    @Transactional
+    public void addComments(List<Comment> comments) {
+        List<Object[]> rows = new ArrayList<>(comments.size());
+        long[] authorIds = new long[comments.size()];
+        long[] bookIds = new long[comments.size()];
+        for (int i = 0; i < comments.size(); i++) {
+            Comment comment = comments.get(i);
+            Long userId = resolveUserId(comment.getAuthor());
+            rows.add(new Object[]{comment.getBookId(), userId, comment.getText(),
+                    Timestamp.valueOf(comment.getCreatedAt())});
+            authorIds[i] = userId;
+            bookIds[i] = comment.getBookId();
+        }
+        // Згенеровані id потрібні графу спільних обговорень, щоб не врахувати коментар двічі
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Object[] row = rows.get(i);
+                            for (int c = 0; c < row.length; c++) {
+                                ps.setObject(c + 1, row[c]);
+                            }
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    },
+                    keys);
+        } catch (DataIntegrityViolationException e) {
+            // Котрий рядок порушив ключ, невідомо - перечитуємо лише авторів цієї порції
+            for (Comment comment : comments) {
+                userIds.invalidate(comment.getAuthor());
+            }
+            throw e;
+        }
+        bookStats.commentsAdded(comments);
+        log.info("Comments batch added: {}", comments.size());
+
+        long[] commentIds = new long[comments.size()];
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < commentIds.length; i++) {
+            commentIds[i] = ((Number) keyList.get(i).values().iterator().next()).longValue();
+        }
+        List<Comment> added = List.copyOf(comments);
+        afterCommit(() -> {
+            notifyAdded(added);
+            coOccurrence.commentsAdded(commentIds, authorIds, bookIds);
+        });
     }
 
     @Override
     @Transactional
     public boolean deleteComment(Long id) {
-        if (commentRepository.existsById(id)) {
-            commentRepository.deleteById(id);
-            log.info("Comment deleted: id={}", id);
-            return true;
+        List<DeletedComment> deleted = commentRepository.deleteCommentById(id);
+        if (deleted.isEmpty()) {
+            return false;
+        }
+        commentsRemoved(deleted);
+        log.info("Comment deleted: id={}", id);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public int deleteComments(Long bookId, Collection<Long> ids, LocalDateTime createdAfter) {
+        List<DeletedComment> deleted = bookId == null
+                ? commentRepository.deleteByIdInCreatedAfter(ids, createdAfter)
+                : commentRepository.deleteByBookIdAndIdInCreatedAfter(bookId, ids, createdAfter);
+        if (!deleted.isEmpty()) {
+            commentsRemoved(deleted);
         }
-        return false;
+        log.info("Comments deleted: bookId={}, requested={}, deleted={}", bookId, ids.size(), deleted.size());
+        return deleted.size();
     }
 
-    private Comment toDomain(CommentEntity entity) {
-        return new Comment(
-                entity.getId(),
-                entity.getBook().getId(),
-                entity.getUser().getUsername(),
-                entity.getText(),
-                entity.getCreatedAt()
-        );
+    private void commentsRemoved(List<DeletedComment> deleted) {
+        List<Long> bookIds = new ArrayList<>(deleted.size());
+        long[] commentIds = new long[deleted.size()];
+        long[] authorIds = new long[deleted.size()];
+        long[] books = new long[deleted.size()];
+        for (int i = 0; i < deleted.size(); i++) {
+            bookIds.add(deleted.get(i).getBookId());
+            commentIds[i] = deleted.get(i).getId();
+            authorIds[i] = deleted.get(i).getUserId();
+            books[i] = deleted.get(i).getBookId();
+        }
+        bookStats.commentsRemoved(bookIds);
+        afterCommit(() -> coOccurrence.commentsRemoved(commentIds, authorIds, books));
+    }
+
+    private void notifyAdded(List<Comment> comments) {
+        for (CommentNotificationPort listener : notifications) {
+            listener.commentsAdded(comments);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Id користувача за іменем; невідомого автора створюємо, як і раніше.
+     * Id нового користувача потрапляє в кеш лише після коміту - відкат не залишить у кеші неіснуючий id
+     */
+    private Long resolveUserId(String author) {
+        Long userId = userIds.get(author, () -> userRepository.findIdByUsername(author).orElse(null));
+        if (userId != null) {
+            return userId;
+        }
+        UserEntity newUser = new UserEntity();
+        newUser.setUsername(author);
+        newUser.setPassword("default"); // В реальному додатку - хешування
+        newUser.setRole("USER");
+        Long created = userRepository.save(newUser).getId();
+        afterCommit(() -> userIds.put(author, created));
+        return created;
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.bookapp.persistence.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Статистика кешу другого рівня Hibernate за регіонами
+ * (лічильники ведуться лише з hibernate.generate_statistics=true)
+ */
+@Component
+public class SecondLevelCacheStatistics {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public boolean isEnabled() {
+        return statistics.isStatisticsEnabled();
+    }
+
+    public List<CacheRegionStats> regions() {
+        String[] names = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(names);
+
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (String name : names) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.add(new CacheRegionStats(name, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount()));
+            }
+        }
+        return regions;
+    }
+}
\ No newline at end of file
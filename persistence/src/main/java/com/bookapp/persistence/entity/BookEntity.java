@@ -1,16 +1,23 @@
 package com.bookapp.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+// Книги майже не змінюються: читання за id обслуговує кеш другого рівня, запис оновлює його
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
 @Table(name = "books")
 public class BookEntity {
 
+    // Послідовність з кроком 50 (pooled): id відомі до INSERT, тож вставки групуються в батчі
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -22,8 +29,8 @@ public class BookEntity {
     @Column(length = 20)
     private String isbn;
 
-    @Column
-    private Integer publish_year;
+    @Column(name = "publish_year")
+    private Integer publishYear;
 
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CommentEntity> comments = new ArrayList<>();
@@ -31,12 +38,12 @@ public class BookEntity {
     public BookEntity() {
     }
 
-    public BookEntity(Long id, String title, String author, String isbn, Integer publish_year) {
+    public BookEntity(Long id, String title, String author, String isbn, Integer publishYear) {
         this.id = id;
         this.title = title;
         this.author = author;
         this.isbn = isbn;
-        this.publish_year = publish_year;
+        this.publishYear = publishYear;
     }
 
     // Getters and Setters
@@ -73,11 +80,11 @@ public class BookEntity {
     }
 
     public Integer getYear() {
-        return publish_year;
+        return publishYear;
     }
 
-    public void setYear(Integer publish_year) {
-        this.publish_year = publish_year;
+    public void setYear(Integer publishYear) {
+        this.publishYear = publishYear;
     }
 
     public List<CommentEntity> getComments() {
@@ -0,0 +1,45 @@
+package com.bookapp.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Лише для LEFT JOIN у проекціях каталогу; пише в таблицю BookStatsStore через JDBC
+@Entity
+@Immutable
+@Table(name = "book_stats")
+public class BookStatsEntity {
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(name = "comment_count", nullable = false)
+    private Long commentCount;
+
+    @Column(name = "last_comment_at")
+    private LocalDateTime lastCommentAt;
+
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount;
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public Long getCommentCount() {
+        return commentCount;
+    }
+
+    public LocalDateTime getLastCommentAt() {
+        return lastCommentAt;
+    }
+
+    public Long getViewCount() {
+        return viewCount;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.bookapp.persistence.maintenance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.bookapp.persistence.stats.BookStatsStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Фонове очищення: прострочені токени підтвердження видаляються,
+ * коментарі старші за заданий вік переносяться в comments_archive (або видаляються).
+ *
+ * Робота йде порціями по chunkSize рядків у порядку індексу (expires_at / created_at, id):
+ * кожна порція - окрема коротка транзакція через JDBC, без контексту персистентності,
+ * між порціями - пауза, щоб не витісняти звичайні запити. Запуск обмежений за часом;
+ * що не встигли - доробить наступний.
+ */
+@Component
+public class RetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionJob.class);
+
+    static final String TOKENS = "confirmationTokens";
+    static final String COMMENTS = "comments";
+
+    private static final String SELECT_EXPIRED_TOKENS =
+            "SELECT id FROM confirmation_tokens WHERE expires_at < ? ORDER BY expires_at, id LIMIT ?";
+    private static final String DELETE_TOKENS =
+            "DELETE FROM confirmation_tokens WHERE id IN (:ids)";
+    private static final String SELECT_OLD_COMMENTS =
+            "SELECT id FROM comments WHERE created_at < ? ORDER BY created_at, id LIMIT ?";
+    private static final String ARCHIVE_COMMENTS =
+            "INSERT INTO comments_archive (id, book_id, user_id, text, created_at, archived_at) " +
+            "SELECT id, book_id, user_id, text, created_at, :archivedAt FROM comments WHERE id IN (:ids)";
+    // Видалені рядки повертаються тим самим запитом - id книг потрібні для book_stats
+    private static final String DELETE_COMMENTS =
+            "SELECT book_id FROM OLD TABLE (DELETE FROM comments WHERE id IN (:ids))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final BookStatsStore bookStats;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final long chunkPauseMillis;
+    private final long maxRunMillis;
+    private final int tokenGraceDays;
+    private final int commentsMaxAgeYears;
+    private final boolean archiveComments;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<String, RetentionRunStats> lastRuns = new ConcurrentHashMap<>();
+    private final Map<String, Long> totals = new ConcurrentHashMap<>();
+
+    public RetentionJob(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            BookStatsStore bookStats,
+            @Value("${app.maintenance.retention.enabled:true}") boolean enabled,
+            @Value("${app.maintenance.retention.chunk-size:500}") int chunkSize,
+            @Value("${app.maintenance.retention.chunk-pause-ms:50}") long chunkPauseMillis,
+            @Value("${app.maintenance.retention.max-run-ms:600000}") long maxRunMillis,
+            @Value("${app.maintenance.retention.token-grace-days:7}") int tokenGraceDays,
+            @Value("${app.maintenance.retention.comments-max-age-years:0}") int commentsMaxAgeYears,
+            @Value("${app.maintenance.retention.comments-archive:true}") boolean archiveComments) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.bookStats = bookStats;
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkPauseMillis = chunkPauseMillis;
+        this.maxRunMillis = maxRunMillis;
+        this.tokenGraceDays = tokenGraceDays;
+        this.commentsMaxAgeYears = commentsMaxAgeYears;
+        this.archiveComments = archiveComments;
+        log.info("RetentionJob initialized: enabled={}, chunkSize={}, commentsMaxAgeYears={}, archive={}",
+                enabled, this.chunkSize, commentsMaxAgeYears, archiveComments);
+    }
+
+    @Scheduled(cron = "${app.maintenance.retention.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /**
+     * Один запуск усіх завдань; повторний виклик під час роботи ігнорується
+     * @return false, якщо запуск уже йде
+     */
+    public boolean run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Retention run skipped: previous run still in progress");
+            return false;
+        }
+        try {
+            long deadline = System.currentTimeMillis() + maxRunMillis;
+            LocalDateTime now = LocalDateTime.now();
+
+            purge(TOKENS, SELECT_EXPIRED_TOKENS, now.minusDays(tokenGraceDays), deadline, this::deleteTokens);
+            // 0 - коментарі зберігаються без обмеження строку
+            if (commentsMaxAgeYears > 0) {
+                purge(COMMENTS, SELECT_OLD_COMMENTS, now.minusYears(commentsMaxAgeYears), deadline,
+                        ids -> archiveComments(ids, now));
+            }
+            return true;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public List<RetentionRunStats> lastRuns() {
+        return new ArrayList<>(lastRuns.values());
+    }
+
+    private void purge(String task, String selectSql, LocalDateTime cutoff, long deadline, ChunkAction action) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        long rows = 0;
+        int chunks = 0;
+        boolean completed = false;
+
+        while (System.currentTimeMillis() < deadline) {
+            int processed = chunkTransaction.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(selectSql, Long.class,
+                        Timestamp.valueOf(cutoff), chunkSize);
+                return ids.isEmpty() ? 0 : action.apply(ids);
+            });
+            rows += processed;
+            if (processed == 0) {
+                completed = true;
+                break;
+            }
+            chunks++;
+            if (!pause()) {
+                break;
+            }
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        long total = totals.merge(task, rows, Long::sum);
+        RetentionRunStats stats = new RetentionRunStats(task, startedAt, durationMillis, rows, chunks, completed, total);
+        lastRuns.put(task, stats);
+        log.info("Retention {}: rows={}, chunks={}, {} ms, {} rows/s{}", task, rows, chunks, durationMillis,
+                String.format("%.0f", stats.getRowsPerSecond()), completed ? "" : " (time limit reached)");
+    }
+
+    private int deleteTokens(List<Long> ids) {
+        return namedJdbcTemplate.update(DELETE_TOKENS, new MapSqlParameterSource("ids", ids));
+    }
+
+    private int archiveComments(List<Long> ids, LocalDateTime archivedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(archivedAt));
+        if (archiveComments) {
+            namedJdbcTemplate.update(ARCHIVE_COMMENTS, params);
+        }
+        List<Long> bookIds = namedJdbcTemplate.queryForList(DELETE_COMMENTS, params, Long.class);
+        bookStats.commentsRemoved(bookIds);
+        return bookIds.size();
+    }
+
+    private boolean pause() {
+        if (chunkPauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        int apply(List<Long> ids);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.bookapp.persistence.maintenance;
+
+import java.time.LocalDateTime;
+
+/**
+ * Знімок останнього запуску одного завдання очищення
+ */
+public class RetentionRunStats {
+    private final String task;
+    private final LocalDateTime startedAt;
+    private final long durationMillis;
+    private final long rows;
+    private final int chunks;
+    private final boolean completed;
+    private final long totalRows;
+
+    public RetentionRunStats(String task, LocalDateTime startedAt, long durationMillis,
+                             long rows, int chunks, boolean completed, long totalRows) {
+        this.task = task;
+        this.startedAt = startedAt;
+        this.durationMillis = durationMillis;
+        this.rows = rows;
+        this.chunks = chunks;
+        this.completed = completed;
+        this.totalRows = totalRows;
+    }
+
+    public String getTask() {
+        return task;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    // false - запуск зупинено лімітом часу, решта рядків піде наступного разу
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    // Усього рядків з моменту старту застосунку
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public double getRowsPerSecond() {
+        return durationMillis == 0 ? rows : rows * 1000.0 / durationMillis;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.bookapp.persistence.recommend;
+
+import com.bookapp.core.recommend.CoOccurrenceGraph;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Граф спільних обговорень книг у пам'яті, побудований з пар (user_id, book_id) таблиці comments.
+ *
+ * Будується при старті та за розкладом: пари читаються одним запитом з GROUP BY
+ * у примітивні масиви, рядки сусідів рахуються в окремому пулі fork/join.
+ * Між перебудовами граф оновлюється інкрементально після коміту додавання та видалення
+ * коментарів. Зміни, що прийшли під час перебудови, повторюються на новому графі, але лише ті,
+ * яких не бачив знімок: зміна могла закомітитись до запиту пар, а повідомлення про неї - прийти
+ * пізніше. Тому кожна зміна несе id коментарів, а наявність цих id перевіряється в тому самому
+ * знімку (SERIALIZABLE-транзакція), з якого прочитано пари. Видалення каскадом (книги,
+ * користувача) та очищення старих коментарів виправляє лише наступна перебудова.
+ */
+@Component
+public class CommentCoOccurrenceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentCoOccurrenceIndex.class);
+
+    private static final String PAIRS_SQL =
+            "SELECT user_id, book_id, COUNT(*) AS comments FROM comments " +
+            "GROUP BY user_id, book_id ORDER BY user_id, book_id";
+    private static final String PRESENT_SQL = "SELECT id FROM comments WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshot;
+    private final int parallelism;
+    private final Object rebuildLock = new Object();
+
+    private volatile CoOccurrenceGraph graph = new CoOccurrenceGraph();
+    // Не null під час перебудови; під монітором this, як і сам запис змін у граф
+    private List<Change> replay;
+    private volatile long lastRebuildMillis;
+
+    public CommentCoOccurrenceIndex(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.recommendations.rebuild-parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Пари та перевірка id змін мають бачити ту саму версію таблиці
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.snapshot.setReadOnly(true);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${app.recommendations.rebuild-cron:0 30 4 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Повна перебудова графа з comments; читання тим часом обслуговує попередній граф
+     * @return тривалість у мілісекундах
+     */
+    public long rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                replay = new ArrayList<>();
+            }
+            try {
+                Pairs pairs = new Pairs();
+                CoOccurrenceGraph rebuilt = snapshot.execute(status -> {
+                    jdbcTemplate.query(PAIRS_SQL, pairs);
+
+                    ForkJoinPool pool = new ForkJoinPool(parallelism);
+                    CoOccurrenceGraph built;
+                    try {
+                        built = CoOccurrenceGraph.build(pairs.userIds, pairs.bookIds, pairs.comments, pairs.size, pool);
+                    } finally {
+                        pool.shutdown();
+                    }
+
+                    // Під монітором нові зміни чекають на заміну графа - жодна не загубиться між ними
+                    synchronized (this) {
+                        replay(built);
+                        graph = built;
+                    }
+                    return built;
+                });
+                lastRebuildMillis = System.currentTimeMillis() - start;
+                log.info("Co-occurrence graph built: {} pairs, {} users, {} books, {} links in {} ms",
+                        pairs.size, rebuilt.userCount(), rebuilt.bookCount(), rebuilt.linkCount(), lastRebuildMillis);
+                return lastRebuildMillis;
+            } finally {
+                synchronized (this) {
+                    replay = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Закомічені нові коментарі: userIds[i] прокоментував bookIds[i] коментарем commentIds[i]
+     */
+    public synchronized void commentsAdded(long[] commentIds, long[] userIds, long[] bookIds) {
+        apply(new Change(commentIds, userIds, bookIds, true));
+    }
+
+    public synchronized void commentsRemoved(long[] commentIds, long[] userIds, long[] bookIds) {
+        apply(new Change(commentIds, userIds, bookIds, false));
+    }
+
+    /**
+     * Id книг, які найчастіше коментували ті самі користувачі, що й цю
+     */
+    public long[] neighbours(long bookId, int limit) {
+        return graph.neighbours(bookId, limit);
+    }
+
+    public CoOccurrenceGraph graph() {
+        return graph;
+    }
+
+    public long getLastRebuildMillis() {
+        return lastRebuildMillis;
+    }
+
+    private void apply(Change change) {
+        if (replay != null) {
+            replay.add(change);
+        }
+        for (int i = 0; i < change.commentIds.length; i++) {
+            change.applyTo(graph, i);
+        }
+    }
+
+    /**
+     * Повтор змін, що прийшли під час перебудови (у транзакції знімка, під монітором this).
+     * Додавання враховується, якщо коментаря не було в знімку; видалення - якщо коментар у знімку був
+     * або його додавання щойно повторено. Спершу всі додавання: повідомлення про видалення
+     * може випередити повідомлення про додавання того самого коментаря
+     */
+    private void replay(CoOccurrenceGraph target) {
+        if (replay.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Change change : replay) {
+            for (long id : change.commentIds) {
+                ids.add(id);
+            }
+        }
+        Set<Long> present = new HashSet<>(jdbcTemplate.queryForList(PRESENT_SQL, Long.class, (Object) ids.toArray(new Long[0])));
+
+        Set<Long> replayed = new HashSet<>();
+        for (Change change : replay) {
+            if (change.added) {
+                for (int i = 0; i < change.commentIds.length; i++) {
+                    if (!present.contains(change.commentIds[i]) && replayed.add(change.commentIds[i])) {
+                        change.applyTo(target, i);
+                    }
+                }
+            }
+        }
+        for (Change change : replay) {
+            if (!change.added) {
+                for (int i = 0; i < change.commentIds.length; i++) {
+                    long id = change.commentIds[i];
+                    if (present.contains(id) || replayed.contains(id)) {
+                        change.applyTo(target, i);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Change {
+        private final long[] commentIds;
+        private final long[] userIds;
+        private final long[] bookIds;
+        private final boolean added;
+
+        private Change(long[] commentIds, long[] userIds, long[] bookIds, boolean added) {
+            this.commentIds = commentIds;
+            this.userIds = userIds;
+            this.bookIds = bookIds;
+            this.added = added;
+        }
+
+        private void applyTo(CoOccurrenceGraph target, int i) {
+            if (added) {
+                target.commentAdded(userIds[i], bookIds[i]);
+            } else {
+                target.commentRemoved(userIds[i], bookIds[i]);
+            }
+        }
+    }
+
+    // Рядки запиту одразу в примітивні масиви, без об'єкта на кожну пару
+    private static final class Pairs implements RowCallbackHandler {
+        private long[] userIds = new long[1024];
+        private long[] bookIds = new long[1024];
+        private int[] comments = new int[1024];
+        private int size;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (size == userIds.length) {
+                userIds = Arrays.copyOf(userIds, size * 2);
+                bookIds = Arrays.copyOf(bookIds, size * 2);
+                comments = Arrays.copyOf(comments, size * 2);
+            }
+            userIds[size] = rs.getLong(1);
+            bookIds[size] = rs.getLong(2);
+            comments[size] = rs.getInt(3);
+            size++;
+        }
+    }
+}
\ No newline at end of file
@@ -1,9 +1,113 @@
 package com.bookapp.persistence.repository;
 
+import com.bookapp.core.domain.Book;
 import com.bookapp.persistence.entity.BookEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface BookRepository extends JpaRepository<BookEntity, Long> {
+    // Проекція одразу в доменну Book: читаються лише потрібні колонки, без керованих сутностей,
+    // колекції коментарів і знімків для dirty checking. Статистика коментарів і переглядів - з book_stats
+    // (аліас s для сортування), без рядка там коментарів і переглядів немає
+    String BOOK_PROJECTION = "SELECT new com.bookapp.core.domain.Book(" +
+            "b.id, b.title, b.author, b.isbn, b.publishYear, s.commentCount, s.lastCommentAt, s.viewCount) " +
+            "FROM BookEntity b LEFT JOIN BookStatsEntity s ON s.bookId = b.id";
+
+    // Колонки для native-запитів з інтерфейсною проекцією BookView
+    String BOOK_COLUMNS = "b.id AS id, b.title AS title, b.author AS author, b.isbn AS isbn, " +
+            "b.publish_year AS publishYear, s.comment_count AS commentCount, s.last_comment_at AS lastCommentAt, " +
+            "s.view_count AS viewCount";
+    String BOOK_TABLES = "books b LEFT JOIN book_stats s ON s.book_id = b.id";
+
+    // Порційне читання всієї таблиці за id (для побудови індексів у пам'яті)
+    @Query(BOOK_PROJECTION + " WHERE b.id > :id ORDER BY b.id ASC")
+    List<Book> findBooksAfter(@Param("id") Long id, Pageable limit);
+
+    @Query(BOOK_PROJECTION + " WHERE b.id IN :ids")
+    List<Book> findBooksByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Повнотекстовий пошук H2: БД повертає лише рядки поточної сторінки та рахує загальну кількість
+    @Query(value = "SELECT " + BOOK_COLUMNS + " FROM " + BOOK_TABLES + " WHERE b.id IN (" +
+            "SELECT CAST(ft.KEYS[1] AS BIGINT) FROM FT_SEARCH_DATA(:query, 0, 0) ft WHERE ft.\"TABLE\" = 'BOOKS')",
+            countQuery = "SELECT COUNT(*) FROM FT_SEARCH_DATA(:query, 0, 0) ft WHERE ft.\"TABLE\" = 'BOOKS'",
+            nativeQuery = true)
+    Page<BookView> searchFullText(@Param("query") String query, Pageable pageable);
+
+    // Те саме без COUNT: читається size + 1 рядків, щоб визначити наявність наступної сторінки
+    @Query(value = "SELECT " + BOOK_COLUMNS + " FROM " + BOOK_TABLES + " WHERE b.id IN (" +
+            "SELECT CAST(ft.KEYS[1] AS BIGINT) FROM FT_SEARCH_DATA(:query, 0, 0) ft WHERE ft.\"TABLE\" = 'BOOKS')",
+            nativeQuery = true)
+    Slice<BookView> searchFullTextSlice(@Param("query") String query, Pageable pageable);
+
+    @Query(value = "SELECT COUNT(*) FROM FT_SEARCH_DATA(:query, 0, 0) ft WHERE ft.\"TABLE\" = 'BOOKS'",
+            nativeQuery = true)
+    long countFullText(@Param("query") String query);
+
+    // Сторінка всієї таблиці з COUNT і без нього
+    @Query(value = BOOK_PROJECTION, countQuery = "SELECT COUNT(b) FROM BookEntity b")
+    Page<Book> findBookPage(Pageable pageable);
+
+    @Query(BOOK_PROJECTION)
+    Slice<Book> findBookSlice(Pageable pageable);
+
+    // Keyset-пагінація: перша сторінка без COUNT, далі - пошук від курсора (ключ, id)
+    @Query(BOOK_PROJECTION)
+    List<Book> findBooks(Pageable pageable);
+
+    @Query(BOOK_PROJECTION)
+    List<Book> findBooks(Sort sort);
+
+    @Query(BOOK_PROJECTION + " WHERE b.title > :title OR (b.title = :title AND b.id > :id) " +
+            "ORDER BY b.title ASC, b.id ASC")
+    List<Book> findByTitleAfter(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @Query(BOOK_PROJECTION + " WHERE b.title < :title OR (b.title = :title AND b.id < :id) " +
+            "ORDER BY b.title DESC, b.id DESC")
+    List<Book> findByTitleBefore(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @Query(BOOK_PROJECTION + " WHERE b.author > :author OR (b.author = :author AND b.id > :id) " +
+            "ORDER BY b.author ASC, b.id ASC")
+    List<Book> findByAuthorAfter(@Param("author") String author, @Param("id") Long id, Pageable pageable);
+
+    @Query(BOOK_PROJECTION + " WHERE b.author < :author OR (b.author = :author AND b.id < :id) " +
+            "ORDER BY b.author DESC, b.id DESC")
+    List<Book> findByAuthorBefore(@Param("author") String author, @Param("id") Long id, Pageable pageable);
+
+    @Query(BOOK_PROJECTION + " WHERE b.id > :id ORDER BY b.id ASC")
+    List<Book> findByIdAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query(BOOK_PROJECTION + " WHERE b.id < :id ORDER BY b.id DESC")
+    List<Book> findByIdBefore(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Рядок native-запиту без створення сутності
+     */
+    interface BookView {
+        Long getId();
+
+        String getTitle();
+
+        String getAuthor();
+
+        String getIsbn();
+
+        Integer getPublishYear();
+
+        Long getCommentCount();
+
+        LocalDateTime getLastCommentAt();
+
+        Long getViewCount();
+    }
 }
\ No newline at end of file
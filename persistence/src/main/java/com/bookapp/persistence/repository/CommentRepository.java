@@ -1,12 +1,77 @@
 package com.bookapp.persistence.repository;
 
+import com.bookapp.core.domain.Comment;
 import com.bookapp.persistence.entity.CommentEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
-    List<CommentEntity> findByUserId(Long userId);
-    List<CommentEntity> findByBookId(Long bookId);
+    // Коментар разом з іменем автора одним запитом (JOIN users), без LAZY-завантаження на кожен рядок
+    String COMMENT_PROJECTION = "SELECT new com.bookapp.core.domain.Comment(" +
+            "c.id, c.book.id, u.username, c.text, c.createdAt) FROM CommentEntity c JOIN c.user u";
+
+    String DELETED_COLUMNS = "id AS id, book_id AS bookId, user_id AS userId";
+
+    @Query(COMMENT_PROJECTION + " WHERE c.user.id = :userId ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findCommentsByUserId(@Param("userId") Long userId);
+
+    @Query(COMMENT_PROJECTION + " WHERE c.book.id = :bookId ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findCommentsByBookId(@Param("bookId") Long bookId);
+
+    // Keyset-порції за індексами (book_id, created_at, id) та (user_id, created_at, id), найновіші спочатку
+    @Query(COMMENT_PROJECTION + " WHERE c.book.id = :bookId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findLatestByBookId(@Param("bookId") Long bookId, Pageable limit);
+
+    @Query(COMMENT_PROJECTION + " WHERE c.book.id = :bookId AND (c.createdAt < :createdAt " +
+            "OR (c.createdAt = :createdAt AND c.id < :id)) ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findByBookIdBefore(@Param("bookId") Long bookId, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Pageable limit);
+
+    @Query(COMMENT_PROJECTION + " WHERE c.user.id = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findLatestByUserId(@Param("userId") Long userId, Pageable limit);
+
+    @Query(COMMENT_PROJECTION + " WHERE c.user.id = :userId AND (c.createdAt < :createdAt " +
+            "OR (c.createdAt = :createdAt AND c.id < :id)) ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Pageable limit);
+
+    long countByUserId(Long userId);
+
+    @Query(COMMENT_PROJECTION + " WHERE c.id = :id")
+    Optional<Comment> findCommentById(@Param("id") Long id);
+
+    // Видалення одним DELETE без попереднього завантаження сутності (deleteById спершу робить SELECT).
+    // OLD TABLE повертає видалені рядки тим самим запитом - їх книги та автори потрібні
+    // для book_stats і графа спільних обговорень
+    @Query(value = "SELECT " + DELETED_COLUMNS + " FROM OLD TABLE (DELETE FROM comments WHERE id = :id)",
+            nativeQuery = true)
+    List<DeletedComment> deleteCommentById(@Param("id") Long id);
+
+    // Пакетне видалення: правило віку перевіряється в самому запиті
+    @Query(value = "SELECT " + DELETED_COLUMNS + " FROM OLD TABLE (DELETE FROM comments " +
+            "WHERE id IN :ids AND created_at > :createdAfter)", nativeQuery = true)
+    List<DeletedComment> deleteByIdInCreatedAfter(@Param("ids") Collection<Long> ids,
+                                                  @Param("createdAfter") LocalDateTime createdAfter);
+
+    @Query(value = "SELECT " + DELETED_COLUMNS + " FROM OLD TABLE (DELETE FROM comments " +
+            "WHERE book_id = :bookId AND id IN :ids AND created_at > :createdAfter)", nativeQuery = true)
+    List<DeletedComment> deleteByBookIdAndIdInCreatedAfter(@Param("bookId") Long bookId,
+                                                           @Param("ids") Collection<Long> ids,
+                                                           @Param("createdAfter") LocalDateTime createdAfter);
+
+    interface DeletedComment {
+        Long getId();
+
+        Long getBookId();
+
+        Long getUserId();
+    }
 }
\ No newline at end of file
@@ -1,12 +1,22 @@
 package com.bookapp.persistence.repository;
 
 import com.bookapp.persistence.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
+    // Кеш запитів: id за іменем, сама сутність - з регіону users; інвалідується будь-яким записом у users
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<UserEntity> findByUsername(String username);
+
+    // Лише id за унікальним індексом username - без завантаження сутності
+    @Query("SELECT u.id FROM UserEntity u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(String username);
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.bookapp.persistence.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * BK-дерево слів за відстанню Левенштейна.
+ *
+ * Нащадки вузла згруповані за відстанню до нього, тому при пошуку в радіусі k
+ * обходяться лише піддерева з відстанню в межах [d - k, d + k] (нерівність трикутника),
+ * а не весь словник. Видалення не підтримується: власник відфільтровує застарілі слова.
+ * Клас не потокобезпечний: синхронізація - на боці власника.
+ */
+final class BkTree {
+
+    private Node root;
+    private int size;
+
+    private static final class Node {
+        final String word;
+        // children[d] - піддерево слів на відстані d від word
+        Node[] children;
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+
+    void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = distance(node.word, word);
+            if (distance == 0) {
+                return;
+            }
+            if (node.children == null) {
+                node.children = new Node[distance + 1];
+            } else if (node.children.length <= distance) {
+                node.children = Arrays.copyOf(node.children, distance + 1);
+            }
+
+            Node child = node.children[distance];
+            if (child == null) {
+                node.children[distance] = new Node(word);
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Усі слова на відстані не більше maxDistance від word
+     */
+    List<String> search(String word, int maxDistance) {
+        List<String> result = new ArrayList<>();
+        search(word, maxDistance, (match, distance) -> result.add(match));
+        return result;
+    }
+
+    /**
+     * Обхід слів на відстані не більше maxDistance від word разом з відстанню
+     */
+    void search(String word, int maxDistance, MatchConsumer consumer) {
+        if (root == null) {
+            return;
+        }
+
+        // Буфери рядків таблиці спільні для всіх порівнянь одного пошуку
+        int[] previous = new int[word.length() + 1];
+        int[] current = new int[word.length() + 1];
+
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            int distance = distance(node.word, word, previous, current);
+            if (distance <= maxDistance) {
+                consumer.accept(node.word, distance);
+            }
+            if (node.children == null) {
+                continue;
+            }
+
+            int from = Math.max(1, distance - maxDistance);
+            int to = Math.min(node.children.length - 1, distance + maxDistance);
+            for (int d = from; d <= to; d++) {
+                if (node.children[d] != null) {
+                    stack.push(node.children[d]);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface MatchConsumer {
+        void accept(String word, int distance);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        root = null;
+        size = 0;
+    }
+
+    static int distance(String a, String b) {
+        int length = Math.min(a.length(), b.length()) + 1;
+        return distance(a, b, new int[length], new int[length]);
+    }
+
+    /**
+     * Відстань Левенштейна з двома рядками таблиці замість повної матриці
+     * (буфери - не коротші за довжину меншого рядка + 1)
+     */
+    private static int distance(String a, String b, int[] previous, int[] current) {
+        if (a.length() < b.length()) {
+            String tmp = a;
+            a = b;
+            b = tmp;
+        }
+
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] tmp = previous;
+            previous = current;
+            current = tmp;
+        }
+        return previous[b.length()];
+    }
+}
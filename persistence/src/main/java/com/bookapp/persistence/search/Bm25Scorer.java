@@ -0,0 +1,71 @@
+package com.bookapp.persistence.search;
+
+/**
+ * Оцінка релевантності BM25F по полях назва/автор/ISBN.
+ *
+ * Частоти токена та довжини полів книги пакуються в один int (по байту на поле),
+ * щоб списки входжень лишались примітивними масивами.
+ * Збіг у назві важить більше, ніж в авторі, а довгі поля штрафуються
+ * відносно середньої довжини (нормалізація b).
+ */
+final class Bm25Scorer {
+
+    static final int TITLE = 0;
+    static final int AUTHOR = 1;
+    static final int ISBN = 2;
+    static final int FIELDS = 3;
+
+    private static final int[] SHIFTS = {16, 8, 0};
+    private static final double[] BOOSTS = {3.0, 1.5, 1.0};
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final int documents;
+    private final double[] averageLengths = new double[FIELDS];
+
+    /**
+     * @param documents кількість книг в індексі
+     * @param lengthSums сумарні довжини кожного поля по всіх книгах
+     */
+    Bm25Scorer(int documents, long[] lengthSums) {
+        this.documents = documents;
+        for (int f = 0; f < FIELDS; f++) {
+            averageLengths[f] = documents == 0 || lengthSums[f] == 0 ? 1.0 : (double) lengthSums[f] / documents;
+        }
+    }
+
+    /**
+     * Вага рідкісності токена; завжди додатна, навіть для токена в більшості книг
+     */
+    double idf(int documentFrequency) {
+        return Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /**
+     * @param frequencies упаковані частоти токена в полях книги
+     * @param lengths упаковані довжини полів книги
+     */
+    double score(int frequencies, int lengths, double idf) {
+        double tf = 0;
+        for (int f = 0; f < FIELDS; f++) {
+            int frequency = unpack(frequencies, f);
+            if (frequency > 0) {
+                double norm = 1 - B + B * unpack(lengths, f) / averageLengths[f];
+                tf += BOOSTS[f] * frequency / norm;
+            }
+        }
+        return idf * tf * (K1 + 1) / (K1 + tf);
+    }
+
+    static int pack(int[] values) {
+        int packed = 0;
+        for (int f = 0; f < FIELDS; f++) {
+            packed |= Math.min(values[f], 0xFF) << SHIFTS[f];
+        }
+        return packed;
+    }
+
+    static int unpack(int packed, int field) {
+        return (packed >>> SHIFTS[field]) & 0xFF;
+    }
+}
\ No newline at end of file
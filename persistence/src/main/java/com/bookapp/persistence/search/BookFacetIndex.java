@@ -0,0 +1,370 @@
+package com.bookapp.persistence.search;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.BookFilter;
+import com.bookapp.core.domain.FacetCount;
+import com.bookapp.core.domain.Facets;
+import com.bookapp.persistence.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Фасетний індекс у пам'яті: для кожного автора, десятиліття та наявності ISBN
+ * зберігається стиснена бітова карта (Roaring) ідентифікаторів книг.
+ *
+ * Лічильники рахуються перетином карт без матеріалізації (andCardinality),
+ * а не GROUP BY-запитами. Для фасета не враховується його власний вибір,
+ * тому поруч з вибраним автором видно й кількості для інших авторів.
+ * Крім карт, для кожної книги зберігається лише рядок авторів (для видалення та підрахунку
+ * малих вибірок), а не вся книга. Ідентифікатори книг мають уміщатися в int.
+ */
+@Component
+public class BookFacetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookFacetIndex.class);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Скільки найчисленніших авторів показувати у фасеті
+    private static final int MAX_AUTHOR_FACETS = 15;
+    // Більша кількість вище, за рівної - за алфавітом
+    private static final Comparator<Map.Entry<String, Integer>> BY_COUNT =
+            Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final BookRepository bookRepository;
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap withIsbn = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byAuthor = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> byDecade = new TreeMap<>();
+    // Рядок авторів книги за її id; книги без автора - з null
+    private final Map<Integer, String> authors = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BookFacetIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Результат фасетного пошуку: книги, що пройшли фільтр, та лічильники
+     */
+    public static final class Result {
+        private final RoaringBitmap matches;
+        private final Facets facets;
+
+        private Result(RoaringBitmap matches, Facets facets) {
+            this.matches = matches;
+            this.facets = facets;
+        }
+
+        public boolean contains(long bookId) {
+            return matches.contains(toIntId(bookId));
+        }
+
+        public int size() {
+            return matches.getCardinality();
+        }
+
+        /**
+         * @return id книг, що пройшли фільтр, за зростанням
+         */
+        public long[] toArray() {
+            long[] ids = new long[matches.getCardinality()];
+            int count = 0;
+            IntIterator iterator = matches.getIntIterator();
+            while (iterator.hasNext()) {
+                ids[count++] = iterator.next();
+            }
+            return ids;
+        }
+
+        public Facets getFacets() {
+            return facets;
+        }
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            all.clear();
+            withIsbn.clear();
+            byAuthor.clear();
+            byDecade.clear();
+            authors.clear();
+
+            long lastId = 0;
+            List<Book> batch;
+            do {
+                batch = bookRepository.findBooksAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Book book : batch) {
+                    addDocument(book);
+                    lastId = book.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            all.runOptimize();
+            withIsbn.runOptimize();
+            byDecade.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Book facet index built: {} books, {} authors, {} decades in {} ms",
+                all.getCardinality(), byAuthor.size(), byDecade.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Додавання або оновлення книги
+     */
+    public void index(Book book) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(toIntId(book.getId()));
+            addDocument(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(toIntId(bookId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Застосування фільтра та підрахунок фасетів
+     * @param candidates книги, знайдені текстовим пошуком, або null - весь каталог
+     */
+    public Result search(long[] candidates, BookFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = candidates == null ? all : toBitmap(candidates);
+            RoaringBitmap authorMask = filter.getAuthors().isEmpty() ? null : union(authorBitmaps(filter.getAuthors()));
+            RoaringBitmap decadeMask = filter.getDecades().isEmpty() ? null : union(decadeBitmaps(filter.getDecades()));
+            RoaringBitmap isbnMask = filter.getHasIsbn() == null ? null
+                    : filter.getHasIsbn() ? withIsbn : RoaringBitmap.andNot(all, withIsbn);
+
+            Facets facets = new Facets(
+                    authorFacet(and(base, decadeMask, isbnMask), filter),
+                    decadeFacet(and(base, authorMask, isbnMask), filter),
+                    isbnFacet(and(base, authorMask, decadeMask), filter));
+
+            RoaringBitmap matches = and(base, authorMask, decadeMask, isbnMask);
+            // Результат живе довше за блокування, тому не може посилатися на карту індексу
+            return new Result(matches == all ? all.clone() : matches, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<FacetCount> authorFacet(RoaringBitmap context, BookFilter filter) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (context.getCardinality() < byAuthor.size()) {
+            // Мало книг - дешевше пройти по них, ніж перетинати карту кожного автора
+            IntIterator iterator = context.getIntIterator();
+            while (iterator.hasNext()) {
+                for (String author : authorsOf(authors.get(iterator.next()))) {
+                    counts.merge(author, 1, Integer::sum);
+                }
+            }
+        } else {
+            for (Map.Entry<String, RoaringBitmap> entry : byAuthor.entrySet()) {
+                int count = RoaringBitmap.andCardinality(context, entry.getValue());
+                if (count > 0) {
+                    counts.put(entry.getKey(), count);
+                }
+            }
+        }
+
+        // Найчисленніші автори - обмеженою купою, як у TopK, без сортування всіх авторів:
+        // у корені найгірший з відібраних
+        PriorityQueue<Map.Entry<String, Integer>> heap = new PriorityQueue<>(MAX_AUTHOR_FACETS + 1, BY_COUNT.reversed());
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (heap.size() < MAX_AUTHOR_FACETS) {
+                heap.add(entry);
+            } else if (BY_COUNT.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<Map.Entry<String, Integer>> top = new ArrayList<>(heap);
+        // Вибрані автори поза топом теж показуються - після нього, у тому самому порядку
+        List<Map.Entry<String, Integer>> selectedRest = new ArrayList<>();
+        for (String author : filter.getAuthors()) {
+            Integer count = counts.get(author);
+            if (count != null && !heap.contains(Map.entry(author, count))) {
+                selectedRest.add(Map.entry(author, count));
+            }
+        }
+        top.sort(BY_COUNT);
+        selectedRest.sort(BY_COUNT);
+        top.addAll(selectedRest);
+
+        List<FacetCount> facet = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : top) {
+            boolean selected = filter.getAuthors().contains(entry.getKey());
+            facet.add(new FacetCount(entry.getKey(), entry.getKey(), entry.getValue(), selected));
+        }
+        for (String author : filter.getAuthors()) {
+            if (!counts.containsKey(author)) {
+                facet.add(new FacetCount(author, author, 0, true));
+            }
+        }
+        return facet;
+    }
+
+    private List<FacetCount> decadeFacet(RoaringBitmap context, BookFilter filter) {
+        List<FacetCount> facet = new ArrayList<>();
+        for (Map.Entry<Integer, RoaringBitmap> entry : byDecade.entrySet()) {
+            int decade = entry.getKey();
+            int count = RoaringBitmap.andCardinality(context, entry.getValue());
+            boolean selected = filter.getDecades().contains(decade);
+            if (count > 0 || selected) {
+                facet.add(new FacetCount(String.valueOf(decade), decade + "–" + (decade + 9), count, selected));
+            }
+        }
+        return facet;
+    }
+
+    private List<FacetCount> isbnFacet(RoaringBitmap context, BookFilter filter) {
+        int present = RoaringBitmap.andCardinality(context, withIsbn);
+        int missing = context.getCardinality() - present;
+        List<FacetCount> facet = new ArrayList<>();
+        facet.add(new FacetCount(Facets.ISBN_PRESENT, Facets.ISBN_PRESENT, present,
+                Boolean.TRUE.equals(filter.getHasIsbn())));
+        facet.add(new FacetCount(Facets.ISBN_MISSING, Facets.ISBN_MISSING, missing,
+                Boolean.FALSE.equals(filter.getHasIsbn())));
+        return facet;
+    }
+
+    private List<RoaringBitmap> authorBitmaps(Set<String> authors) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (String author : authors) {
+            bitmaps.add(byAuthor.getOrDefault(author, new RoaringBitmap()));
+        }
+        return bitmaps;
+    }
+
+    private List<RoaringBitmap> decadeBitmaps(Set<Integer> decades) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (Integer decade : decades) {
+            bitmaps.add(byDecade.getOrDefault(decade, new RoaringBitmap()));
+        }
+        return bitmaps;
+    }
+
+    private static RoaringBitmap union(List<RoaringBitmap> bitmaps) {
+        return RoaringBitmap.or(bitmaps.iterator());
+    }
+
+    /**
+     * Перетин карт; null означає "без обмеження"
+     */
+    private static RoaringBitmap and(RoaringBitmap base, RoaringBitmap... masks) {
+        RoaringBitmap result = base;
+        for (RoaringBitmap mask : masks) {
+            if (mask != null) {
+                result = RoaringBitmap.and(result, mask);
+            }
+        }
+        return result;
+    }
+
+    private static RoaringBitmap toBitmap(long[] ids) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (long id : ids) {
+            bitmap.add(toIntId(id));
+        }
+        return bitmap;
+    }
+
+    private void addDocument(Book book) {
+        int id = toIntId(book.getId());
+        authors.put(id, book.getAuthor());
+        all.add(id);
+        if (book.getIsbn() != null && !book.getIsbn().isBlank()) {
+            withIsbn.add(id);
+        }
+        for (String author : authorsOf(book.getAuthor())) {
+            byAuthor.computeIfAbsent(author, a -> new RoaringBitmap()).add(id);
+        }
+        if (book.getYear() != null) {
+            byDecade.computeIfAbsent(decadeOf(book.getYear()), d -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void removeDocument(int id) {
+        if (!all.contains(id)) {
+            return;
+        }
+
+        all.remove(id);
+        withIsbn.remove(id);
+        for (String author : authorsOf(authors.remove(id))) {
+            RoaringBitmap bitmap = byAuthor.get(author);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    byAuthor.remove(author);
+                }
+            }
+        }
+        // Року книги не зберігаємо: десятиліть лише кілька десятків, перевіряємо кожне
+        Iterator<RoaringBitmap> decades = byDecade.values().iterator();
+        while (decades.hasNext()) {
+            RoaringBitmap bitmap = decades.next();
+            if (bitmap.checkedRemove(id) && bitmap.isEmpty()) {
+                decades.remove();
+            }
+        }
+    }
+
+    /**
+     * Кілька авторів однієї книги записуються через кому
+     */
+    static Set<String> authorsOf(String author) {
+        Set<String> names = new LinkedHashSet<>();
+        if (author != null) {
+            for (String name : author.split(",")) {
+                if (!name.isBlank()) {
+                    names.add(name.trim());
+                }
+            }
+        }
+        return names;
+    }
+
+    public static int decadeOf(int year) {
+        return Math.floorDiv(year, 10) * 10;
+    }
+
+    private static int toIntId(long bookId) {
+        if (bookId < 0 || bookId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Book id does not fit facet bitmap: " + bookId);
+        }
+        return (int) bookId;
+    }
+}
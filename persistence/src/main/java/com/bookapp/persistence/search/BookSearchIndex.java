@@ -0,0 +1,531 @@
+package com.bookapp.persistence.search;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.SortKey;
+import com.bookapp.core.domain.SortSpec;
+import com.bookapp.persistence.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Інвертований індекс у пам'яті по назві, автору та ISBN книг.
+ *
+ * Запит розбивається на токени; кожен токен запиту шукається як префікс
+ * токенів індексу, результати для різних токенів перетинаються (AND).
+ * У нечіткому режимі токен також збігається зі словами словника на відстані
+ * редагування 1-2, які шукаються через BK-дерево.
+ * Для сортування за релевантністю збіги оцінюються за BM25F (див. Bm25Scorer).
+ * Індекс будується при старті та оновлюється інкрементально при збереженні книги.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Скільки найближчих слів словника враховується для одного токена нечіткого запиту
+    private static final int MAX_FUZZY_EXPANSIONS = 50;
+    // Вага збігу лише за префіксом ("jav" -> "java") відносно точного збігу слова
+    private static final double PREFIX_MATCH_WEIGHT = 0.7;
+    // Скільки різних сортувань тримати наперед відсортованими
+    private static final int MAX_SORTED_ORDERS = 8;
+
+    private final BookRepository bookRepository;
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Book> documents = new HashMap<>();
+    // Словник для нечіткого пошуку; видалені слова лишаються до перебудови і відкидаються за postings
+    private final BkTree vocabulary = new BkTree();
+    // Упаковані довжини полів кожної книги та їх суми для середніх значень BM25
+    private final Map<Long, Integer> fieldLengths = new HashMap<>();
+    private final long[] lengthSums = new long[Bm25Scorer.FIELDS];
+    // Наперед відсортовані порядки всіх книг; скидаються при будь-якій зміні індексу
+    private final Map<List<SortKey>, SortedOrder> sortedOrders = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            vocabulary.clear();
+            fieldLengths.clear();
+            sortedOrders.clear();
+            Arrays.fill(lengthSums, 0);
+
+            long lastId = 0;
+            List<Book> batch;
+            do {
+                batch = bookRepository.findBooksAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Book book : batch) {
+                    addDocument(book);
+                    lastId = book.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Book search index built: {} books, {} tokens in {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Додавання або оновлення книги в індексі
+     */
+    public void index(Book book) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.getId());
+            addDocument(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Пошук книг за запитом
+     * @param query текст запиту
+     * @param order порядок, у якому повертаються ідентифікатори
+     * @return ідентифікатори знайдених книг у заданому порядку
+     */
+    public long[] search(String query, SortSpec order) {
+        return search(query, order, false);
+    }
+
+    /**
+     * Пошук книг за запитом
+     * @param query текст запиту
+     * @param order порядок, у якому повертаються ідентифікатори
+     * @param fuzzy чи враховувати слова з помилками (відстань Левенштейна 1-2)
+     * @return ідентифікатори знайдених книг у заданому порядку
+     */
+    public long[] search(String query, SortSpec order, boolean fuzzy) {
+        Set<String> queryTokens = new LinkedHashSet<>(tokenize(query));
+        if (queryTokens.isEmpty()) {
+            return new long[0];
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] matches = matchAll(queryTokens, fuzzy);
+            return matches.length == 0 ? matches : sortedOrder(order).sort(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Впорядкування довільного набору книг індексу (наприклад, результату фасетного фільтра)
+     * за наперед відсортованим порядком, без сортування самих збігів
+     */
+    public long[] sort(long[] bookIds, SortSpec order) {
+        lock.readLock().lock();
+        try {
+            return sortedOrder(order).sort(bookIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ідентифікатори всіх збігів за зростанням id, без сортування за полями книги
+     */
+    public long[] searchIds(String query, boolean fuzzy) {
+        Set<String> queryTokens = new LinkedHashSet<>(tokenize(query));
+        if (queryTokens.isEmpty()) {
+            return new long[0];
+        }
+
+        lock.readLock().lock();
+        try {
+            return matchAll(queryTokens, fuzzy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Пошук найрелевантніших книг: збіги оцінюються за BM25F, а з усіх
+     * відбираються лише limit найкращих через обмежену купу
+     * @param limit скільки найкращих id повернути (зміщення сторінки + її розмір)
+     * @param filter додатковий фільтр id (наприклад, фасетний) або null
+     */
+    public RankedHits searchByRelevance(String query, boolean fuzzy, int limit, LongPredicate filter) {
+        Set<String> queryTokens = new LinkedHashSet<>(tokenize(query));
+        if (queryTokens.isEmpty()) {
+            return new RankedHits(new long[0], 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] matches = matchAll(queryTokens, fuzzy);
+            if (filter != null) {
+                matches = Arrays.stream(matches).filter(filter).toArray();
+            }
+            if (matches.length == 0) {
+                return new RankedHits(matches, 0);
+            }
+
+            Bm25Scorer scorer = new Bm25Scorer(documents.size(), lengthSums);
+            double[] scores = new double[matches.length];
+            double[] tokenScores = new double[matches.length];
+            for (String token : queryTokens) {
+                // Токен запиту може збігтися з кількома словами - враховуємо найкращий збіг
+                Arrays.fill(tokenScores, 0);
+                for (ScoredTerm term : expand(token, fuzzy)) {
+                    scoreTerm(term, matches, scorer, tokenScores);
+                }
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] += tokenScores[i];
+                }
+            }
+
+            TopK top = new TopK(Math.min(Math.max(limit, 0), matches.length));
+            for (int i = 0; i < matches.length; i++) {
+                top.offer(matches[i], scores[i]);
+            }
+            return new RankedHits(top.drainDescending(), matches.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Кількість книг за запитом без сортування результатів
+     */
+    public int count(String query) {
+        Set<String> queryTokens = new LinkedHashSet<>(tokenize(query));
+        if (queryTokens.isEmpty()) {
+            return 0;
+        }
+
+        lock.readLock().lock();
+        try {
+            return matchAll(queryTokens, false).length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return проіндексована книга або null
+     */
+    public Book get(long bookId) {
+        lock.readLock().lock();
+        try {
+            return documents.get(bookId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Сумарна довжина поля по всіх книгах (для перевірки середніх BM25)
+     */
+    long lengthSum(int field) {
+        lock.readLock().lock();
+        try {
+            return lengthSums[field];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Порядок будується ліниво при першому запиті після зміни індексу
+     * (викликається під блокуванням читання, тому документи не змінюються)
+     */
+    private SortedOrder sortedOrder(SortSpec spec) {
+        List<SortKey> keys = spec.getKeys();
+        SortedOrder order = sortedOrders.get(keys);
+        if (order == null) {
+            if (sortedOrders.size() >= MAX_SORTED_ORDERS) {
+                sortedOrders.clear();
+            }
+            order = sortedOrders.computeIfAbsent(keys, k -> SortedOrder.build(documents.values(), spec));
+        }
+        return order;
+    }
+
+    private long[] matchAll(Set<String> queryTokens, boolean fuzzy) {
+        long[] matches = null;
+        for (String token : queryTokens) {
+            long[] tokenMatches = fuzzy ? matchFuzzy(token) : matchPrefix(token);
+            matches = matches == null ? tokenMatches : PostingList.intersect(matches, tokenMatches);
+            if (matches.length == 0) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    private long[] matchPrefix(String prefix) {
+        NavigableMap<String, PostingList> range =
+                postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+        long[][] lists = new long[range.size()][];
+        int i = 0;
+        for (PostingList list : range.values()) {
+            lists[i++] = list.toArray();
+        }
+        return lists.length == 0 ? new long[0] : PostingList.union(lists);
+    }
+
+    /**
+     * Збіги за префіксом плюс слова словника в межах допустимої відстані
+     */
+    private long[] matchFuzzy(String token) {
+        int maxDistance = fuzzyDistance(token);
+        if (maxDistance == 0) {
+            return matchPrefix(token);
+        }
+
+        // Найближчі слова, серед рівновіддалених - частіші
+        List<FuzzyTerm> terms = new ArrayList<>();
+        vocabulary.search(token, maxDistance, (term, distance) -> {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                terms.add(new FuzzyTerm(list, distance));
+            }
+        });
+        terms.sort(Comparator.comparingInt((FuzzyTerm t) -> t.distance)
+                .thenComparing(Comparator.comparingInt((FuzzyTerm t) -> t.postings.size()).reversed()));
+
+        List<long[]> lists = new ArrayList<>();
+        lists.add(matchPrefix(token));
+        for (int i = 0; i < terms.size() && i < MAX_FUZZY_EXPANSIONS; i++) {
+            lists.add(terms.get(i).postings.toArray());
+        }
+        return PostingList.union(lists.toArray(new long[0][]));
+    }
+
+    /**
+     * Слова індексу, з якими збігається токен запиту, з вагою типу збігу
+     */
+    private List<ScoredTerm> expand(String token, boolean fuzzy) {
+        List<ScoredTerm> terms = new ArrayList<>();
+        postings.subMap(token, true, token + Character.MAX_VALUE, false).forEach((term, list) ->
+                terms.add(new ScoredTerm(list, term.equals(token) ? 1.0 : PREFIX_MATCH_WEIGHT)));
+
+        int maxDistance = fuzzyDistance(token);
+        if (fuzzy && maxDistance > 0) {
+            List<FuzzyTerm> fuzzyTerms = new ArrayList<>();
+            vocabulary.search(token, maxDistance, (term, distance) -> {
+                PostingList list = postings.get(term);
+                if (list != null && distance > 0) {
+                    fuzzyTerms.add(new FuzzyTerm(list, distance));
+                }
+            });
+            fuzzyTerms.sort(Comparator.comparingInt((FuzzyTerm t) -> t.distance)
+                    .thenComparing(Comparator.comparingInt((FuzzyTerm t) -> t.postings.size()).reversed()));
+            for (int i = 0; i < fuzzyTerms.size() && i < MAX_FUZZY_EXPANSIONS; i++) {
+                FuzzyTerm term = fuzzyTerms.get(i);
+                terms.add(new ScoredTerm(term.postings, 1.0 / (1 + term.distance)));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Оцінки одного слова для збігів: обходимо коротший з двох відсортованих списків
+     * і шукаємо його елементи в довшому бінарним пошуком
+     */
+    private void scoreTerm(ScoredTerm term, long[] matches, Bm25Scorer scorer, double[] tokenScores) {
+        PostingList list = term.postings;
+        double idf = term.weight * scorer.idf(list.size());
+        if (list.size() < matches.length) {
+            for (int p = 0; p < list.size(); p++) {
+                int i = Arrays.binarySearch(matches, list.idAt(p));
+                if (i >= 0) {
+                    updateScore(tokenScores, i, scorer.score(list.freqAt(p), fieldLengths.get(matches[i]), idf));
+                }
+            }
+        } else {
+            for (int i = 0; i < matches.length; i++) {
+                int p = list.indexOf(matches[i]);
+                if (p >= 0) {
+                    updateScore(tokenScores, i, scorer.score(list.freqAt(p), fieldLengths.get(matches[i]), idf));
+                }
+            }
+        }
+    }
+
+    private static void updateScore(double[] tokenScores, int index, double score) {
+        if (score > tokenScores[index]) {
+            tokenScores[index] = score;
+        }
+    }
+
+    private static final class ScoredTerm {
+        private final PostingList postings;
+        private final double weight;
+
+        private ScoredTerm(PostingList postings, double weight) {
+            this.postings = postings;
+            this.weight = weight;
+        }
+    }
+
+    private static final class FuzzyTerm {
+        private final PostingList postings;
+        private final int distance;
+
+        private FuzzyTerm(PostingList postings, int distance) {
+            this.postings = postings;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * Допустима кількість помилок: у коротких словах одна помилка вже змінює слово
+     */
+    static int fuzzyDistance(String token) {
+        if (token.length() <= 3) {
+            return 0;
+        }
+        return token.length() <= 6 ? 1 : 2;
+    }
+
+    private void addDocument(Book book) {
+        documents.put(book.getId(), book);
+        sortedOrders.clear();
+        int[] lengths = new int[Bm25Scorer.FIELDS];
+        for (Map.Entry<String, int[]> entry : fieldFrequencies(book, lengths).entrySet()) {
+            String token = entry.getKey();
+            PostingList list = postings.get(token);
+            if (list == null) {
+                list = new PostingList();
+                postings.put(token, list);
+                vocabulary.add(token);
+            }
+            list.add(book.getId(), Bm25Scorer.pack(entry.getValue()));
+        }
+
+        fieldLengths.put(book.getId(), Bm25Scorer.pack(lengths));
+        for (int f = 0; f < Bm25Scorer.FIELDS; f++) {
+            lengthSums[f] += Math.min(lengths[f], 0xFF);
+        }
+    }
+
+    private void removeDocument(Long bookId) {
+        Book previous = documents.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        sortedOrders.clear();
+        Integer lengths = fieldLengths.remove(bookId);
+        if (lengths != null) {
+            for (int f = 0; f < Bm25Scorer.FIELDS; f++) {
+                lengthSums[f] -= Bm25Scorer.unpack(lengths, f);
+            }
+        }
+        for (String token : fieldFrequencies(previous, new int[Bm25Scorer.FIELDS]).keySet()) {
+            PostingList list = postings.get(token);
+            if (list != null) {
+                list.remove(bookId);
+                if (list.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Частоти кожного токена книги по полях
+     * @param lengths сюди записуються довжини полів у токенах
+     */
+    private static Map<String, int[]> fieldFrequencies(Book book, int[] lengths) {
+        Map<String, int[]> frequencies = new LinkedHashMap<>();
+        countTokens(tokenize(book.getTitle()), Bm25Scorer.TITLE, frequencies, lengths);
+        countTokens(tokenize(book.getAuthor()), Bm25Scorer.AUTHOR, frequencies, lengths);
+        if (book.getIsbn() != null) {
+            List<String> isbnTokens = tokenize(book.getIsbn());
+            // ISBN також індексуємо без дефісів, щоб "9780132350884" знаходило "978-0132350884"
+            String compactIsbn = book.getIsbn().replaceAll("[^0-9A-Za-z]", "").toLowerCase(Locale.ROOT);
+            if (!compactIsbn.isEmpty() && !isbnTokens.contains(compactIsbn)) {
+                isbnTokens.add(compactIsbn);
+            }
+            countTokens(isbnTokens, Bm25Scorer.ISBN, frequencies, lengths);
+        }
+        return frequencies;
+    }
+
+    private static void countTokens(List<String> tokens, int field, Map<String, int[]> frequencies, int[] lengths) {
+        for (String token : tokens) {
+            frequencies.computeIfAbsent(token, t -> new int[Bm25Scorer.FIELDS])[field]++;
+        }
+        lengths[field] += tokens.size();
+    }
+
+    /**
+     * Розбиття тексту на токени: літери та цифри в нижньому регістрі
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < lower.length(); i++) {
+            if (Character.isLetterOrDigit(lower.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(lower.substring(start));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,203 @@
+package com.bookapp.persistence.search;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.Suggestion;
+import com.bookapp.persistence.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Автодоповнення за назвами та авторами книг.
+ *
+ * Кожна назва/автор потрапляє в префіксне дерево з усіх початків слів,
+ * тому "java" знаходить і "Java Concurrency in Practice", і "Effective Java".
+ * Популярність варіанта - кількість книг з такою назвою або такого автора.
+ */
+@Component
+public class BookSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSuggestIndex.class);
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Обмеження кількості ключів для дуже довгих назв
+    private static final int MAX_WORD_KEYS = 8;
+
+    private final BookRepository bookRepository;
+
+    private final CompletionTrie trie = new CompletionTrie(MAX_SUGGESTIONS);
+    private final Map<String, CompletionTrie.Completion> completions = new HashMap<>();
+    private final Map<Long, List<CompletionTrie.Completion>> completionsByBook = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BookSuggestIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            trie.clear();
+            completions.clear();
+            completionsByBook.clear();
+
+            long lastId = 0;
+            List<Book> batch;
+            do {
+                batch = bookRepository.findBooksAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Book book : batch) {
+                    addBook(book.getId(), book.getTitle(), book.getAuthor());
+                    lastId = book.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Book suggest index built: {} completions in {} ms",
+                completions.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Додавання або оновлення книги
+     */
+    public void index(Book book) {
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            addBook(book.getId(), book.getTitle(), book.getAuthor());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return до limit найпопулярніших варіантів, що починаються з prefix
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Suggestion> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            CompletionTrie.Completion[] top = trie.complete(key);
+            for (int i = 0; i < top.length && result.size() < limit; i++) {
+                result.add(new Suggestion(top[i].text, top[i].type, top[i].weight));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void addBook(Long bookId, String title, String author) {
+        List<CompletionTrie.Completion> added = new ArrayList<>();
+        addPhrase(title, Suggestion.TYPE_TITLE, added);
+        if (author != null) {
+            // Кілька авторів через кому - окремі варіанти
+            for (String name : author.split(",")) {
+                addPhrase(name.trim(), Suggestion.TYPE_AUTHOR, added);
+            }
+        }
+        completionsByBook.put(bookId, added);
+    }
+
+    private void addPhrase(String text, String type, List<CompletionTrie.Completion> added) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+
+        String id = type + ':' + normalized;
+        CompletionTrie.Completion completion = completions.get(id);
+        if (completion != null && added.contains(completion)) {
+            return;
+        }
+
+        if (completion == null) {
+            completion = new CompletionTrie.Completion(text.trim(), type, wordKeys(normalized));
+            completion.weight = 1;
+            completions.put(id, completion);
+            for (String key : completion.keys) {
+                trie.add(key, completion);
+            }
+        } else {
+            completion.weight++;
+            for (String key : completion.keys) {
+                trie.promote(key, completion);
+            }
+        }
+        added.add(completion);
+    }
+
+    private void removeBook(Long bookId) {
+        List<CompletionTrie.Completion> previous = completionsByBook.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+
+        for (CompletionTrie.Completion completion : previous) {
+            completion.weight--;
+            if (completion.weight == 0) {
+                completions.remove(completion.type + ':' + normalize(completion.text));
+                for (String key : completion.keys) {
+                    trie.remove(key, completion);
+                }
+            } else {
+                for (String key : completion.keys) {
+                    trie.refresh(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Нижній регістр, послідовності пробілів та розділових знаків - один пробіл
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return String.join(" ", BookSearchIndex.tokenize(text));
+    }
+
+    /**
+     * Суфікси нормалізованого рядка, що починаються з кожного слова
+     */
+    private static String[] wordKeys(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalized);
+        int index = normalized.indexOf(' ');
+        while (index >= 0 && keys.size() < MAX_WORD_KEYS) {
+            keys.add(normalized.substring(index + 1));
+            index = normalized.indexOf(' ', index + 1);
+        }
+        return keys.toArray(new String[0]);
+    }
+}
\ No newline at end of file
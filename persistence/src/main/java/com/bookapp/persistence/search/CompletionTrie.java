@@ -0,0 +1,333 @@
+package com.bookapp.persistence.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Стиснене префіксне дерево (radix tree) для автодоповнення.
+ *
+ * Ребра містять рядки, а не окремі символи, тому ланцюжки з одним нащадком
+ * не створюють зайвих вузлів. Кожен вузол зберігає готовий top-N варіантів
+ * свого піддерева, тож пошук - це лише спуск на довжину префікса.
+ * Клас не потокобезпечний: синхронізація - на боці власника.
+ */
+final class CompletionTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Completion[] NO_COMPLETIONS = new Completion[0];
+
+    static final Comparator<Completion> BY_WEIGHT = Comparator
+            .comparingInt((Completion c) -> c.weight).reversed()
+            .thenComparing(c -> c.text);
+
+    private final int maxCompletions;
+    private final Node root = new Node("");
+
+    CompletionTrie(int maxCompletions) {
+        this.maxCompletions = maxCompletions;
+    }
+
+    /**
+     * Варіант автодоповнення; вага змінюється власником, після чого викликається refresh()
+     */
+    static final class Completion {
+        final String text;
+        final String type;
+        final String[] keys;
+        int weight;
+
+        Completion(String text, String type, String[] keys) {
+            this.text = text;
+            this.type = type;
+            this.keys = keys;
+        }
+    }
+
+    private static final class Node {
+        String label;
+        Node[] children = NO_CHILDREN;
+        Completion[] terminals = NO_COMPLETIONS;
+        Completion[] top = NO_COMPLETIONS;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    void add(String key, Completion completion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+
+        while (i < key.length()) {
+            int childIndex = childIndex(node, key.charAt(i));
+            if (childIndex < 0) {
+                Node leaf = new Node(key.substring(i));
+                insertChild(node, -childIndex - 1, leaf);
+                node = leaf;
+                path.add(node);
+                i = key.length();
+                break;
+            }
+
+            Node child = node.children[childIndex];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // Розщеплення ребра: спільна частина стає новим проміжним вузлом
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[]{child};
+                middle.top = child.top;
+                node.children[childIndex] = middle;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+
+        for (Completion existing : node.terminals) {
+            if (existing == completion) {
+                promotePath(path, completion);
+                return;
+            }
+        }
+        node.terminals = append(node.terminals, completion);
+        promotePath(path, completion);
+    }
+
+    void remove(String key, Completion completion) {
+        List<Node> path = findPath(key);
+        if (path == null) {
+            return;
+        }
+
+        Node node = path.get(path.size() - 1);
+        node.terminals = without(node.terminals, completion);
+
+        // Прибираємо порожні вузли та зливаємо проміжні з єдиним нащадком
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            if (current.terminals.length == 0 && current.children.length == 0) {
+                removeChild(parent, current);
+            } else if (current.terminals.length == 0 && current.children.length == 1) {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                replaceChild(parent, current, only);
+            }
+        }
+        recomputePath(path);
+    }
+
+    /**
+     * Оновлення top-N на шляху до ключа після збільшення ваги варіанта
+     */
+    void promote(String key, Completion completion) {
+        List<Node> path = findPath(key);
+        if (path != null) {
+            promotePath(path, completion);
+        }
+    }
+
+    /**
+     * Перерахунок top-N на шляху до ключа після зміни ваги варіанта
+     */
+    void refresh(String key) {
+        List<Node> path = findPath(key);
+        if (path != null) {
+            recomputePath(path);
+        }
+    }
+
+    /**
+     * @return до maxCompletions варіантів, відсортованих за вагою
+     */
+    Completion[] complete(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int childIndex = childIndex(node, prefix.charAt(i));
+            if (childIndex < 0) {
+                return NO_COMPLETIONS;
+            }
+            Node child = node.children[childIndex];
+            int length = Math.min(child.label.length(), prefix.length() - i);
+            if (!prefix.regionMatches(i, child.label, 0, length)) {
+                return NO_COMPLETIONS;
+            }
+            node = child;
+            i += length;
+        }
+        return node.top;
+    }
+
+    void clear() {
+        root.children = NO_CHILDREN;
+        root.terminals = NO_COMPLETIONS;
+        root.top = NO_COMPLETIONS;
+    }
+
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int childIndex = childIndex(node, key.charAt(i));
+            if (childIndex < 0) {
+                return null;
+            }
+            Node child = node.children[childIndex];
+            if (!key.startsWith(child.label, i)) {
+                return null;
+            }
+            node = child;
+            path.add(node);
+            i += child.label.length();
+        }
+        return path;
+    }
+
+    private void recomputePath(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            recomputeTop(path.get(i));
+        }
+    }
+
+    /**
+     * Варіант лише додався або подорожчав, тож решта top-N не змінилась: достатньо
+     * вставити його в готові списки, не переглядаючи всіх нащадків вузла
+     * (інакше масове додавання у вузол з тисячами нащадків стає квадратичним)
+     */
+    private void promotePath(List<Node> path, Completion completion) {
+        for (Node node : path) {
+            node.top = promoteTop(node.top, completion);
+        }
+    }
+
+    private Completion[] promoteTop(Completion[] top, Completion completion) {
+        List<Completion> result = new ArrayList<>(top.length + 1);
+        for (Completion c : top) {
+            if (c != completion) {
+                result.add(c);
+            }
+        }
+
+        int position = 0;
+        while (position < result.size() && BY_WEIGHT.compare(result.get(position), completion) <= 0) {
+            position++;
+        }
+        if (position >= maxCompletions) {
+            return top;
+        }
+        result.add(position, completion);
+        if (result.size() > maxCompletions) {
+            result.remove(result.size() - 1);
+        }
+        return result.toArray(NO_COMPLETIONS);
+    }
+
+    private void recomputeTop(Node node) {
+        List<Completion> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(BY_WEIGHT);
+
+        // Один варіант може потрапити в піддерево кількома ключами (з різних слів)
+        List<Completion> top = new ArrayList<>(maxCompletions);
+        for (Completion candidate : candidates) {
+            if (top.size() == maxCompletions) {
+                break;
+            }
+            if (!containsSame(top, candidate)) {
+                top.add(candidate);
+            }
+        }
+        node.top = top.toArray(NO_COMPLETIONS);
+    }
+
+    private static boolean containsSame(List<Completion> list, Completion completion) {
+        for (Completion c : list) {
+            if (c == completion) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int childIndex(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = node.children[mid].label.charAt(0);
+            if (c < first) {
+                low = mid + 1;
+            } else if (c > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void insertChild(Node parent, int at, Node child) {
+        Node[] children = new Node[parent.children.length + 1];
+        System.arraycopy(parent.children, 0, children, 0, at);
+        children[at] = child;
+        System.arraycopy(parent.children, at, children, at + 1, parent.children.length - at);
+        parent.children = children;
+    }
+
+    private static void removeChild(Node parent, Node child) {
+        for (int i = 0; i < parent.children.length; i++) {
+            if (parent.children[i] == child) {
+                Node[] children = new Node[parent.children.length - 1];
+                System.arraycopy(parent.children, 0, children, 0, i);
+                System.arraycopy(parent.children, i + 1, children, i, children.length - i);
+                parent.children = children;
+                return;
+            }
+        }
+    }
+
+    private static void replaceChild(Node parent, Node oldChild, Node newChild) {
+        for (int i = 0; i < parent.children.length; i++) {
+            if (parent.children[i] == oldChild) {
+                parent.children[i] = newChild;
+                return;
+            }
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Completion[] append(Completion[] array, Completion completion) {
+        Completion[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = completion;
+        return result;
+    }
+
+    private static Completion[] without(Completion[] array, Completion completion) {
+        List<Completion> result = new ArrayList<>(array.length);
+        for (Completion c : array) {
+            if (c != completion) {
+                result.add(c);
+            }
+        }
+        return result.toArray(NO_COMPLETIONS);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.bookapp.persistence.search;
+
+import java.util.Arrays;
+
+/**
+ * Відсортований список ідентифікаторів книг для одного токена.
+ * Зберігає примітивні long без боксінгу, щоб індекс на сотні тисяч книг
+ * не перетворювався на мільйони об'єктів Long.
+ * Паралельно зберігаються частоти токена в полях книги (для BM25).
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] freqs = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @param freq упаковані частоти токена по полях (див. Bm25Scorer.pack)
+     */
+    void add(long id, int freq) {
+        // Нові книги майже завжди мають найбільший id - дописуємо в кінець
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size] = id;
+            freqs[size] = freq;
+            size++;
+            return;
+        }
+
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            freqs[pos] = freq;
+            return;
+        }
+
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(freqs, insertAt, freqs, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        freqs[insertAt] = freq;
+        size++;
+    }
+
+    void remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        System.arraycopy(freqs, pos + 1, freqs, pos, size - pos - 1);
+        size--;
+    }
+
+    /**
+     * @return позиція id у списку або від'ємне значення, якщо його немає
+     */
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    long idAt(int index) {
+        return ids[index];
+    }
+
+    int freqAt(int index) {
+        return freqs[index];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            freqs = Arrays.copyOf(freqs, freqs.length * 2);
+        }
+    }
+
+    /**
+     * Об'єднання кількох відсортованих масивів без дублікатів
+     */
+    static long[] union(long[][] lists) {
+        if (lists.length == 1) {
+            return lists[0];
+        }
+
+        int total = 0;
+        for (long[] list : lists) {
+            total += list.length;
+        }
+
+        long[] merged = new long[total];
+        int offset = 0;
+        for (long[] list : lists) {
+            System.arraycopy(list, 0, merged, offset, list.length);
+            offset += list.length;
+        }
+        Arrays.sort(merged);
+
+        int unique = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (i == 0 || merged[i] != merged[i - 1]) {
+                merged[unique++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, unique);
+    }
+
+    /**
+     * Перетин двох відсортованих масивів
+     */
+    static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+}
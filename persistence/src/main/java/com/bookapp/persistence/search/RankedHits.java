@@ -0,0 +1,26 @@
+package com.bookapp.persistence.search;
+
+/**
+ * Найрелевантніші книги за запитом разом із загальною кількістю збігів
+ */
+public final class RankedHits {
+
+    private final long[] ids;
+    private final int total;
+
+    RankedHits(long[] ids, int total) {
+        this.ids = ids;
+        this.total = total;
+    }
+
+    /**
+     * @return id книг у порядку спадання релевантності
+     */
+    public long[] getIds() {
+        return ids;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
\ No newline at end of file
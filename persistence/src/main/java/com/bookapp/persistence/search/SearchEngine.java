@@ -0,0 +1,13 @@
+package com.bookapp.persistence.search;
+
+/**
+ * Рушій текстового пошуку каталогу (властивість app.catalog.search-engine)
+ */
+public enum SearchEngine {
+    /** Інвертований індекс у пам'яті (BookSearchIndex) */
+    INDEX,
+    /** Повнотекстовий індекс H2 (FT_SEARCH_DATA) з LIMIT/OFFSET у БД */
+    FULLTEXT,
+    /** Фільтрація всіх книг у Java-стрімі (початкова реалізація, для порівняння) */
+    STREAM
+}
@@ -0,0 +1,109 @@
+package com.bookapp.persistence.search;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.SortKey;
+import com.bookapp.core.domain.SortSpec;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Наперед відсортований порядок усіх книг індексу для одного сортування.
+ *
+ * Для кожної книги зберігається її позиція (ранг) у порядку, тому будь-яка
+ * підмножина впорядковується без порівнянь: ранги збігів позначаються в бітовій
+ * карті, яка потім обходиться по зростанню - O(m log n + n/64) замість
+ * сортування m об'єктів компаратором.
+ */
+final class SortedOrder {
+
+    // Усі id за зростанням та ранг кожного з них (за тим самим індексом)
+    private final long[] ids;
+    private final int[] ranks;
+    // id у порядку сортування
+    private final long[] order;
+
+    private SortedOrder(long[] ids, int[] ranks, long[] order) {
+        this.ids = ids;
+        this.ranks = ranks;
+        this.order = order;
+    }
+
+    static SortedOrder build(Collection<Book> books, SortSpec spec) {
+        Book[] sorted = books.toArray(new Book[0]);
+        Arrays.sort(sorted, comparator(spec));
+
+        long[] order = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            order[i] = sorted[i].getId();
+        }
+
+        long[] ids = order.clone();
+        Arrays.sort(ids);
+        int[] ranks = new int[ids.length];
+        for (int rank = 0; rank < order.length; rank++) {
+            ranks[Arrays.binarySearch(ids, order[rank])] = rank;
+        }
+        return new SortedOrder(ids, ranks, order);
+    }
+
+    /**
+     * @param matches id книг індексу в довільному порядку
+     * @return ті самі id у порядку сортування; id, яких немає в індексі, відкидаються
+     */
+    long[] sort(long[] matches) {
+        BitSet marked = new BitSet(order.length);
+        for (long id : matches) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index >= 0) {
+                marked.set(ranks[index]);
+            }
+        }
+
+        long[] result = new long[marked.cardinality()];
+        int count = 0;
+        for (int rank = marked.nextSetBit(0); rank >= 0; rank = marked.nextSetBit(rank + 1)) {
+            result[count++] = order[rank];
+        }
+        return result;
+    }
+
+    /**
+     * Порядок книг за сортуванням; книги без року (і без коментарів для activity) - в кінці за будь-якого напрямку
+     */
+    static Comparator<Book> comparator(SortSpec spec) {
+        Comparator<Book> result = null;
+        for (SortKey key : spec.getKeys()) {
+            Comparator<Book> next = fieldComparator(key);
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    private static Comparator<Book> fieldComparator(SortKey key) {
+        switch (key.getField()) {
+            case AUTHOR:
+                return directed(Comparator.comparing(Book::getAuthor), key);
+            case YEAR:
+                return Comparator.comparing(Book::getYear, Comparator.nullsLast(
+                        key.isDescending() ? Comparator.<Integer>reverseOrder() : Comparator.<Integer>naturalOrder()));
+            case COMMENTS:
+                return directed(Comparator.comparingLong(Book::getCommentCount), key);
+            case ACTIVITY:
+                // Книги без коментарів - в кінці, як і книги без року
+                return Comparator.comparing(Book::getLastCommentAt, Comparator.nullsLast(
+                        key.isDescending() ? Comparator.<LocalDateTime>reverseOrder() : Comparator.<LocalDateTime>naturalOrder()));
+            case ID:
+                return directed(Comparator.comparing(Book::getId), key);
+            default:
+                return directed(Comparator.comparing(Book::getTitle), key);
+        }
+    }
+
+    private static Comparator<Book> directed(Comparator<Book> comparator, SortKey key) {
+        return key.isDescending() ? comparator.reversed() : comparator;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.bookapp.persistence.search;
+
+/**
+ * Обмежена min-купа для вибору k найкращих результатів за O(n log k)
+ * без сортування всіх збігів і без боксінгу.
+ * При рівній оцінці вище йде книга з меншим id.
+ */
+final class TopK {
+
+    private final long[] ids;
+    private final double[] scores;
+    private int size;
+
+    TopK(int capacity) {
+        ids = new long[capacity];
+        scores = new double[capacity];
+    }
+
+    void offer(long id, double score) {
+        if (ids.length == 0) {
+            return;
+        }
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (worse(ids[0], scores[0], id, score)) {
+            // Корінь - найгірший з відібраних, новий кандидат його витісняє
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * @return відібрані id від найрелевантнішого; купа після виклику порожня
+     */
+    long[] drainDescending() {
+        long[] result = new long[size];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = ids[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return result;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!worse(ids[index], scores[index], ids[parent], scores[parent])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int worst = right < size && worse(ids[right], scores[right], ids[left], scores[left]) ? right : left;
+            if (!worse(ids[worst], scores[worst], ids[index], scores[index])) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private static boolean worse(long id, double score, long otherId, double otherScore) {
+        return score < otherScore || (score == otherScore && id > otherId);
+    }
+
+    private void swap(int i, int j) {
+        long id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+        double score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.bookapp.persistence.stats;
+
+import com.bookapp.core.domain.Comment;
+import com.bookapp.core.domain.SortKey;
+import com.bookapp.core.domain.SortSpec;
+import com.bookapp.core.port.BookViewCountPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Денормалізована статистика коментарів книг (таблиця book_stats).
+ *
+ * Оновлюється інкрементально в транзакції, що додає або видаляє коментарі:
+ * додавання - MERGE з приростом лічильника, видалення - зменшення лічильника
+ * та перечитування часу останнього коментаря за індексом (book_id, created_at, id).
+ * rebuild() перераховує все з comments, якщо статистика розійшлася з даними.
+ * Сюди ж лічильник переглядів дописує накопичені прирости view_count.
+ */
+@Component
+public class BookStatsStore implements BookViewCountPort {
+
+    private static final Logger log = LoggerFactory.getLogger(BookStatsStore.class);
+
+    private static final String ADD_SQL =
+            "MERGE INTO book_stats t USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP))) " +
+            "AS v(book_id, added, last_at) ON t.book_id = v.book_id " +
+            "WHEN MATCHED THEN UPDATE SET comment_count = t.comment_count + v.added, " +
+            "last_comment_at = GREATEST(t.last_comment_at, v.last_at) " +
+            "WHEN NOT MATCHED THEN INSERT (book_id, comment_count, last_comment_at) VALUES (v.book_id, v.added, v.last_at)";
+    private static final String REMOVE_SQL =
+            "UPDATE book_stats SET comment_count = GREATEST(comment_count - ?, 0), " +
+            "last_comment_at = (SELECT MAX(c.created_at) FROM comments c WHERE c.book_id = book_stats.book_id) " +
+            "WHERE book_id = ?";
+    // Джерело - books: перегляди книги, видаленої до запису, не порушують зовнішній ключ
+    private static final String ADD_VIEWS_SQL =
+            "MERGE INTO book_stats t USING (SELECT b.id AS book_id, CAST(? AS BIGINT) AS added FROM books b WHERE b.id = ?) v " +
+            "ON t.book_id = v.book_id " +
+            "WHEN MATCHED THEN UPDATE SET view_count = t.view_count + v.added " +
+            "WHEN NOT MATCHED THEN INSERT (book_id, comment_count, view_count) VALUES (v.book_id, 0, v.added)";
+    private static final String PAGE_SQL =
+            "SELECT b.id FROM books b LEFT JOIN book_stats s ON s.book_id = b.id WHERE b.id = ANY(?) ORDER BY ";
+    // Лише рядки, що розійшлися з comments: кількість виправлених = кількість оновлених рядків
+    private static final String REBUILD_SQL =
+            "MERGE INTO book_stats t USING (" +
+            "SELECT b.id AS book_id, COUNT(c.id) AS comment_count, MAX(c.created_at) AS last_at " +
+            "FROM books b LEFT JOIN comments c ON c.book_id = b.id WHERE b.id > ? AND b.id <= ? GROUP BY b.id) v " +
+            "ON t.book_id = v.book_id " +
+            "WHEN MATCHED AND (t.comment_count <> v.comment_count OR t.last_comment_at IS DISTINCT FROM v.last_at) " +
+            "THEN UPDATE SET comment_count = v.comment_count, last_comment_at = v.last_at " +
+            "WHEN NOT MATCHED AND v.comment_count > 0 " +
+            "THEN INSERT (book_id, comment_count, last_comment_at) VALUES (v.book_id, v.comment_count, v.last_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final int rebuildChunkSize;
+
+    public BookStatsStore(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.catalog.stats.rebuild-chunk-size:1000}") int rebuildChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildChunkSize = Math.max(1, rebuildChunkSize);
+    }
+
+    /**
+     * Нові коментарі: один MERGE на книгу. Викликається в транзакції вставки
+     */
+    public void commentsAdded(List<Comment> comments) {
+        Map<Long, long[]> added = new HashMap<>();
+        Map<Long, LocalDateTime> lastAt = new HashMap<>();
+        for (Comment comment : comments) {
+            added.computeIfAbsent(comment.getBookId(), id -> new long[1])[0]++;
+            lastAt.merge(comment.getBookId(), comment.getCreatedAt(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        List<Object[]> rows = new ArrayList<>(added.size());
+        for (Map.Entry<Long, long[]> entry : added.entrySet()) {
+            rows.add(new Object[]{entry.getKey(), entry.getValue()[0],
+                    Timestamp.valueOf(lastAt.get(entry.getKey()))});
+        }
+        jdbcTemplate.batchUpdate(ADD_SQL, rows);
+    }
+
+    /**
+     * Видалені коментарі
+     * @param bookIds id книги кожного видаленого коментаря (з повторами)
+     */
+    public void commentsRemoved(Collection<Long> bookIds) {
+        Map<Long, Long> removed = new HashMap<>();
+        for (Long bookId : bookIds) {
+            removed.merge(bookId, 1L, Long::sum);
+        }
+
+        List<Object[]> rows = new ArrayList<>(removed.size());
+        for (Map.Entry<Long, Long> entry : removed.entrySet()) {
+            rows.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate(REMOVE_SQL, rows);
+    }
+
+    /**
+     * Прирости переглядів: один пакет MERGE в одній транзакції
+     */
+    @Override
+    public void addViews(Map<Long, Long> viewsByBook) {
+        List<Object[]> rows = new ArrayList<>(viewsByBook.size());
+        for (Map.Entry<Long, Long> entry : viewsByBook.entrySet()) {
+            rows.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        chunkTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(ADD_VIEWS_SQL, rows));
+    }
+
+    /**
+     * Сторінка набору книг у порядку зі статистикою коментарів. Сортування і LIMIT/OFFSET
+     * виконує БД одним запитом (набір id - один параметр-масив), у пам'ять потрапляють лише id сторінки
+     * @return id книг сторінки; книг без рядка в book_stats - без коментарів
+     */
+    public long[] findPage(long[] bookIds, SortSpec order, int offset, int limit) {
+        if (bookIds.length == 0 || limit <= 0) {
+            return new long[0];
+        }
+        Long[] ids = new Long[bookIds.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = bookIds[i];
+        }
+        List<Long> page = jdbcTemplate.queryForList(PAGE_SQL + orderBy(order) + " LIMIT ? OFFSET ?",
+                Long.class, ids, limit, offset);
+        return page.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Повний перерахунок з comments порціями за діапазонами id книг, кожна порція - окрема транзакція.
+     * Коментар, доданий під час перерахунку порції, може бути не врахований - тому
+     * запускати при невеликому навантаженні
+     * @return кількість виправлених рядків
+     */
+    public long rebuild() {
+        long start = System.nanoTime();
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM books", Long.class);
+
+        long corrected = 0;
+        for (long from = 0; from < maxId; from += rebuildChunkSize) {
+            long to = from + rebuildChunkSize;
+            long lower = from;
+            corrected += chunkTransaction.execute(status -> jdbcTemplate.update(REBUILD_SQL, lower, to));
+        }
+
+        log.info("Book stats rebuilt: maxBookId={}, corrected={}, {} ms",
+                maxId, corrected, (System.nanoTime() - start) / 1_000_000);
+        return corrected;
+    }
+
+    // Ті самі правила, що й у сортуванні каталогу з БД: без року і без коментарів - в кінці
+    private static String orderBy(SortSpec order) {
+        List<String> columns = new ArrayList<>();
+        for (SortKey key : order.getKeys()) {
+            String direction = key.isDescending() ? " DESC" : " ASC";
+            switch (key.getField()) {
+                case AUTHOR:
+                    columns.add("b.author" + direction);
+                    break;
+                case YEAR:
+                    columns.add("b.publish_year" + direction + " NULLS LAST");
+                    break;
+                case COMMENTS:
+                    columns.add("COALESCE(s.comment_count, 0)" + direction);
+                    break;
+                case ACTIVITY:
+                    columns.add("s.last_comment_at" + direction + " NULLS LAST");
+                    break;
+                case ID:
+                    columns.add("b.id" + direction);
+                    break;
+                default:
+                    columns.add("b.title" + direction);
+            }
+        }
+        return String.join(", ", columns);
+    }
+}
\ No newline at end of file
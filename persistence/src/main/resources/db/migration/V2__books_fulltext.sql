@@ -0,0 +1,5 @@
+-- Повнотекстовий індекс H2 (FT_) по назві, автору та ISBN книг
+-- Використовується пошуковим рушієм app.catalog.search-engine=fulltext
+CREATE ALIAS IF NOT EXISTS FT_INIT FOR "org.h2.fulltext.FullText.init";
+CALL FT_INIT();
+CALL FT_CREATE_INDEX('PUBLIC', 'BOOKS', 'TITLE,AUTHOR,ISBN');
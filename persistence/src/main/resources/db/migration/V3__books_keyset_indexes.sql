@@ -0,0 +1,3 @@
+-- Складені індекси для keyset-пагінації: WHERE (title, id) > (?, ?) ORDER BY title, id
+CREATE INDEX idx_books_title_id ON books(title, id);
+CREATE INDEX idx_books_author_id ON books(author, id);
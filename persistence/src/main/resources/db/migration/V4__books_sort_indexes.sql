@@ -0,0 +1,4 @@
+-- Складені індекси під дозволені сортування каталогу (SortSpec): ORDER BY publish_year, id
+-- та ORDER BY author, publish_year, id; за спаданням H2 читає ті самі індекси у зворотному порядку
+CREATE INDEX idx_books_year_id ON books(publish_year, id);
+CREATE INDEX idx_books_author_year_id ON books(author, publish_year, id);
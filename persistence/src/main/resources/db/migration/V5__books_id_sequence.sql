@@ -0,0 +1,9 @@
+-- Ідентифікатори книг із послідовності з кроком 50 замість IDENTITY: Hibernate резервує
+-- блок id одним зверненням (pooled) і може групувати INSERT у JDBC-батчі.
+-- Значення послідовності - верхня межа блоку, тому перший блок починається з MAX(id) + 1
+CREATE SEQUENCE books_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE books_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM books);
+
+-- Вставки поза Hibernate теж беруть id з послідовності, щоб не перетнутися з її блоками
+ALTER TABLE books ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE books ALTER COLUMN id SET DEFAULT NEXT VALUE FOR books_seq;
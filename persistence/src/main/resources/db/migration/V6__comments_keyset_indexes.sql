@@ -0,0 +1,8 @@
+-- Складені індекси для keyset-пагінації коментарів:
+-- WHERE book_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_comments_book_created ON comments(book_id, created_at, id);
+CREATE INDEX idx_comments_user_created ON comments(user_id, created_at, id);
+
+-- Одноколонкові індекси покриваються складеними (той самий перший стовпець)
+DROP INDEX idx_comments_book_id;
+DROP INDEX idx_comments_user_id;
@@ -0,0 +1,14 @@
+-- Індекси для фонового очищення: порції вибираються за порядком індексу,
+-- тож кожна порція читає лише ті рядки, які видаляє
+CREATE INDEX idx_confirmation_tokens_expires ON confirmation_tokens(expires_at, id);
+CREATE INDEX idx_comments_created ON comments(created_at, id);
+
+-- Архів старих коментарів: без зовнішніх ключів, книга чи користувач можуть бути видалені пізніше
+CREATE TABLE comments_archive (
+    id BIGINT PRIMARY KEY,
+    book_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    text TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
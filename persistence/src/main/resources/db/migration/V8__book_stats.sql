@@ -0,0 +1,13 @@
+-- Денормалізована статистика коментарів книги: список каталогу показує кількість
+-- і сортує за активністю без COUNT по comments для кожної книги.
+-- Підтримується інкрементально при додаванні та видаленні коментарів;
+-- рядок може бути відсутній - це означає нуль коментарів
+CREATE TABLE book_stats (
+    book_id BIGINT PRIMARY KEY,
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    last_comment_at TIMESTAMP,
+    FOREIGN KEY (book_id) REFERENCES books(id) ON DELETE CASCADE
+);
+
+INSERT INTO book_stats (book_id, comment_count, last_comment_at)
+SELECT book_id, COUNT(*), MAX(created_at) FROM comments GROUP BY book_id;
@@ -0,0 +1,4 @@
+-- Лічильник переглядів сторінки книги. Перегляди накопичуються в пам'яті
+-- і дописуються сюди агрегованими приростами раз на кілька секунд;
+-- рядок книги без коментарів, але з переглядами має comment_count = 0
+ALTER TABLE book_stats ADD COLUMN view_count BIGINT NOT NULL DEFAULT 0;
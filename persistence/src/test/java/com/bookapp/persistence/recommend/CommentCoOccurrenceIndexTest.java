@@ -0,0 +1,115 @@
+package com.bookapp.persistence.recommend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Юніт-тести для повтору змін, що прийшли під час перебудови CommentCoOccurrenceIndex
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CommentCoOccurrenceIndex Tests")
+class CommentCoOccurrenceIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CommentCoOccurrenceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CommentCoOccurrenceIndex(jdbcTemplate, transactionManager, 1);
+    }
+
+    /**
+     * Перебудова зі знімка з парами rows {user, book, comments}; during - повідомлення,
+     * що приходять після початку перебудови; present - id коментарів, які бачить знімок
+     */
+    private void rebuild(long[][] rows, Runnable during, Long... present) throws Exception {
+        doAnswer(invocation -> {
+            during.run();
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn(row[0]);
+                when(rs.getLong(2)).thenReturn(row[1]);
+                when(rs.getInt(3)).thenReturn((int) row[2]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT user_id"), any(RowCallbackHandler.class));
+        when(jdbcTemplate.queryForList(startsWith("SELECT id"), eq(Long.class), any()))
+                .thenReturn(List.of(present));
+
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should not count twice a late addition already seen by the snapshot")
+    void shouldSkipAdditionSeenBySnapshot() throws Exception {
+        // Given - коментар 100 закомічено до знімка, повідомлення прийшло під час перебудови
+        rebuild(new long[][]{{1, 10, 1}, {1, 20, 1}},
+                () -> index.commentsAdded(new long[]{100}, new long[]{1}, new long[]{10}), 100L);
+        assertArrayEquals(new long[]{10}, index.neighbours(20, 5));
+
+        // When
+        index.commentsRemoved(new long[]{100}, new long[]{1}, new long[]{10});
+
+        // Then
+        assertArrayEquals(new long[0], index.neighbours(20, 5));
+    }
+
+    @Test
+    @DisplayName("Should replay an addition committed after the snapshot")
+    void shouldReplayAdditionAfterSnapshot() throws Exception {
+        // When
+        rebuild(new long[][]{{1, 20, 1}},
+                () -> index.commentsAdded(new long[]{100}, new long[]{1}, new long[]{10}));
+
+        // Then
+        assertArrayEquals(new long[]{10}, index.neighbours(20, 5));
+    }
+
+    @Test
+    @DisplayName("Should not replay a late removal of a comment missing from the snapshot")
+    void shouldSkipRemovalSeenBySnapshot() throws Exception {
+        // When - у користувача лишився коментар 101 до книги 30, коментар 102 видалено до знімка
+        rebuild(new long[][]{{1, 10, 1}, {1, 30, 1}},
+                () -> index.commentsRemoved(new long[]{102}, new long[]{1}, new long[]{30}));
+
+        // Then
+        assertArrayEquals(new long[]{30}, index.neighbours(10, 5));
+    }
+
+    @Test
+    @DisplayName("Should replay a removal that overtook the addition of the same comment")
+    void shouldReplayAdditionsBeforeRemovals() throws Exception {
+        // When - обидві зміни після знімка, повідомлення про видалення прийшло першим
+        rebuild(new long[][]{{1, 20, 1}}, () -> {
+            index.commentsRemoved(new long[]{100}, new long[]{1}, new long[]{10});
+            index.commentsAdded(new long[]{100}, new long[]{1}, new long[]{10});
+        });
+
+        // Then
+        assertArrayEquals(new long[0], index.neighbours(20, 5));
+        assertArrayEquals(new long[0], index.neighbours(10, 5));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.bookapp.persistence.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юніт-тести для BkTree
+ */
+@DisplayName("BkTree Tests")
+class BkTreeTest {
+
+    @Test
+    @DisplayName("Should find all words within the edit distance")
+    void shouldFindWordsWithinDistance() {
+        // Given
+        BkTree tree = new BkTree();
+        for (String word : List.of("java", "lava", "jaws", "javascript", "kotlin", "kotlon", "java")) {
+            tree.add(word);
+        }
+
+        // When
+        Set<String> nearJava = new HashSet<>(tree.search("jawa", 1));
+        Set<String> nearKotlin = new HashSet<>(tree.search("kotlin", 1));
+
+        // Then
+        assertEquals(6, tree.size());
+        assertEquals(Set.of("java", "jaws"), nearJava);
+        assertEquals(Set.of("kotlin", "kotlon"), nearKotlin);
+        assertTrue(tree.search("scala", 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should compute Levenshtein distance")
+    void shouldComputeDistance() {
+        assertEquals(0, BkTree.distance("java", "java"));
+        assertEquals(1, BkTree.distance("java", "jav"));
+        assertEquals(1, BkTree.distance("java", "lava"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(4, BkTree.distance("", "java"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.bookapp.persistence.search;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.BookFilter;
+import com.bookapp.core.domain.FacetCount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юніт-тести для BookFacetIndex
+ */
+@DisplayName("BookFacetIndex Tests")
+class BookFacetIndexTest {
+
+    // Репозиторій потрібен лише для перебудови з БД
+    private final BookFacetIndex index = new BookFacetIndex(null);
+
+    @Test
+    @DisplayName("Should show the most frequent authors and selected authors outside the top")
+    void shouldPickTopAuthors() {
+        // Given - автор i має i книг
+        long id = 1;
+        for (int author = 1; author <= 20; author++) {
+            for (int i = 0; i < author; i++) {
+                index.index(new Book(id++, "Book " + id, "Author " + author, null, 2000));
+            }
+        }
+
+        // When
+        List<FacetCount> all = index.search(null, BookFilter.none()).getFacets().getAuthors();
+        List<FacetCount> selected = index.search(null, new BookFilter(Set.of("Author 1"), Set.of(), null))
+                .getFacets().getAuthors();
+        List<FacetCount> few = index.search(new long[]{1, 2, 4}, BookFilter.none()).getFacets().getAuthors();
+
+        // Then
+        List<String> expected = new ArrayList<>();
+        for (int author = 20; author > 5; author--) {
+            expected.add("Author " + author);
+        }
+        assertEquals(expected, values(all));
+        assertEquals(20, all.get(0).getCount());
+
+        expected.add("Author 1");
+        assertEquals(expected, values(selected));
+        assertTrue(selected.get(15).isSelected());
+        assertEquals(1, selected.get(15).getCount());
+
+        assertEquals(List.of("Author 1", "Author 2", "Author 3"), values(few));
+    }
+
+    @Test
+    @DisplayName("Should move a re-indexed book between authors and decades")
+    void shouldUpdateFacetsOnReindex() {
+        // Given
+        index.index(new Book(1L, "Refactoring", "Fowler, Beck", null, 1999));
+        index.index(new Book(2L, "Clean Code", "Martin", "978-0132350884", 2008));
+
+        // When
+        index.index(new Book(1L, "Refactoring", "Fowler", null, 2018));
+        index.remove(2L);
+
+        // Then
+        BookFacetIndex.Result result = index.search(null, BookFilter.none());
+        assertArrayEquals(new long[]{1}, result.toArray());
+        assertEquals(List.of("Fowler"), values(result.getFacets().getAuthors()));
+        assertEquals(List.of("2010"), values(result.getFacets().getDecades()));
+        assertEquals(0, result.getFacets().getIsbn().get(0).getCount());
+    }
+
+    private static List<String> values(List<FacetCount> facet) {
+        return facet.stream().map(FacetCount::getValue).toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.bookapp.persistence.search;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.SortSpec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юніт-тести для пошуку та оцінки релевантності BookSearchIndex
+ */
+@DisplayName("BookSearchIndex Tests")
+class BookSearchIndexTest {
+
+    // Репозиторій потрібен лише для перебудови з БД
+    private final BookSearchIndex index = new BookSearchIndex(null);
+
+    @Test
+    @DisplayName("Should rank an exact word above a prefix match")
+    void shouldRankExactAbovePrefix() {
+        // Given
+        index.index(new Book(1L, "Javascript Guide", "Smith", null, 2020));
+        index.index(new Book(2L, "Java Guide", "Smith", null, 2020));
+
+        // When
+        RankedHits hits = index.searchByRelevance("java", false, 10, null);
+
+        // Then
+        assertArrayEquals(new long[]{2, 1}, hits.getIds());
+        assertEquals(2, hits.getTotal());
+    }
+
+    @Test
+    @DisplayName("Should rank an exact word above a fuzzy match and cut results to the limit")
+    void shouldRankExactAboveFuzzy() {
+        // Given
+        index.index(new Book(1L, "Kotlon Guide", "Smith", null, 2020));
+        index.index(new Book(2L, "Kotlin Guide", "Smith", null, 2020));
+
+        // When
+        RankedHits fuzzy = index.searchByRelevance("kotlin", true, 10, null);
+        RankedHits best = index.searchByRelevance("kotlin", true, 1, null);
+        RankedHits exact = index.searchByRelevance("kotlin", false, 10, null);
+
+        // Then
+        assertArrayEquals(new long[]{2, 1}, fuzzy.getIds());
+        assertArrayEquals(new long[]{2}, best.getIds());
+        assertEquals(2, best.getTotal());
+        assertArrayEquals(new long[]{2}, exact.getIds());
+    }
+
+    @Test
+    @DisplayName("Should find prefix hits and fuzzy hits only in fuzzy mode")
+    void shouldFindPrefixAndFuzzyHits() {
+        // Given
+        index.index(new Book(1L, "Kotlon Guide", "Smith", null, 2020));
+        index.index(new Book(2L, "Kotlin Guide", "Smith", "978-0132350884", 2020));
+
+        // When & Then
+        assertArrayEquals(new long[]{1, 2}, index.searchIds("kot", false));
+        assertArrayEquals(new long[]{1, 2}, index.searchIds("kotlen", true));
+        assertArrayEquals(new long[0], index.searchIds("kotlen", false));
+        assertArrayEquals(new long[]{2}, index.searchIds("9780132350884", false));
+        assertArrayEquals(new long[]{2, 1}, index.search("guide smith", SortSpec.parse("-id")));
+    }
+
+    @Test
+    @DisplayName("Should keep field length sums and scores consistent after re-indexing and removal")
+    void shouldKeepLengthSumsAfterReindexAndRemove() {
+        // Given
+        index.index(new Book(1L, "Clean Code", "Robert Martin", null, 2008));
+        index.index(new Book(2L, "Refactoring", "Martin Fowler", null, 1999));
+        index.index(new Book(3L, "Clean Architecture", "Robert Martin", null, 2017));
+        assertEquals(5, index.lengthSum(Bm25Scorer.TITLE));
+        assertEquals(6, index.lengthSum(Bm25Scorer.AUTHOR));
+
+        // When
+        index.index(new Book(1L, "Clean Code Handbook", "Martin", null, 2008));
+        index.remove(2L);
+
+        // Then - те саме, що й індекс, побудований одразу з кінцевого набору
+        BookSearchIndex fresh = new BookSearchIndex(null);
+        fresh.index(new Book(1L, "Clean Code Handbook", "Martin", null, 2008));
+        fresh.index(new Book(3L, "Clean Architecture", "Robert Martin", null, 2017));
+        for (int field = 0; field < Bm25Scorer.FIELDS; field++) {
+            assertEquals(fresh.lengthSum(field), index.lengthSum(field));
+        }
+        assertEquals(5, index.lengthSum(Bm25Scorer.TITLE));
+        assertEquals(3, index.lengthSum(Bm25Scorer.AUTHOR));
+        assertArrayEquals(fresh.searchByRelevance("clean martin", false, 10, null).getIds(),
+                index.searchByRelevance("clean martin", false, 10, null).getIds());
+        assertArrayEquals(new long[0], index.searchIds("refactoring", false));
+        assertArrayEquals(new long[]{3}, index.searchIds("robert", false));
+        assertEquals(2, index.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.bookapp.persistence.search;
+
+import com.bookapp.persistence.search.CompletionTrie.Completion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юніт-тести для CompletionTrie
+ */
+@DisplayName("CompletionTrie Tests")
+class CompletionTrieTest {
+
+    private final CompletionTrie trie = new CompletionTrie(2);
+
+    private Completion add(String key, int weight) {
+        Completion completion = new Completion(key, "title", new String[]{key});
+        completion.weight = weight;
+        trie.add(key, completion);
+        return completion;
+    }
+
+    private List<String> complete(String prefix) {
+        return Arrays.stream(trie.complete(prefix)).map(c -> c.text).toList();
+    }
+
+    @Test
+    @DisplayName("Should return the heaviest completions for a prefix")
+    void shouldCompletePrefixByWeight() {
+        // Given
+        add("java", 5);
+        add("javascript", 10);
+        add("jazz", 1);
+
+        // When & Then
+        assertEquals(List.of("javascript", "java"), complete("ja"));
+        assertEquals(List.of("javascript", "java"), complete("java"));
+        assertEquals(List.of("jazz"), complete("jaz"));
+        assertEquals(List.of(), complete("jo"));
+    }
+
+    @Test
+    @DisplayName("Should update top completions after promote and remove")
+    void shouldUpdateTopAfterPromoteAndRemove() {
+        // Given
+        add("java", 5);
+        Completion javascript = add("javascript", 10);
+        Completion jazz = add("jazz", 1);
+
+        // When
+        jazz.weight = 20;
+        trie.promote("jazz", jazz);
+
+        // Then
+        assertEquals(List.of("jazz", "javascript"), complete("ja"));
+
+        // When
+        trie.remove("javascript", javascript);
+
+        // Then
+        assertEquals(List.of("jazz", "java"), complete("ja"));
+        assertEquals(List.of(), complete("javas"));
+    }
+}
\ No newline at end of file
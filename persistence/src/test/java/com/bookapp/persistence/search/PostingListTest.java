@@ -0,0 +1,71 @@
+package com.bookapp.persistence.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юніт-тести для PostingList
+ */
+@DisplayName("PostingList Tests")
+class PostingListTest {
+
+    @Test
+    @DisplayName("Should keep ids sorted and update frequency of an existing id")
+    void shouldKeepIdsSorted() {
+        // Given
+        PostingList list = new PostingList();
+
+        // When
+        list.add(10, 1);
+        list.add(30, 1);
+        list.add(20, 1);
+        list.add(5, 1);
+        list.add(40, 1);
+        list.add(20, 7);
+
+        // Then
+        assertArrayEquals(new long[]{5, 10, 20, 30, 40}, list.toArray());
+        assertEquals(7, list.freqAt(list.indexOf(20)));
+        assertTrue(list.indexOf(25) < 0);
+    }
+
+    @Test
+    @DisplayName("Should remove ids together with their frequencies")
+    void shouldRemoveIds() {
+        // Given
+        PostingList list = new PostingList();
+        list.add(1, 11);
+        list.add(2, 22);
+        list.add(3, 33);
+
+        // When
+        list.remove(2);
+        list.remove(99);
+
+        // Then
+        assertArrayEquals(new long[]{1, 3}, list.toArray());
+        assertEquals(33, list.freqAt(list.indexOf(3)));
+
+        // When
+        list.remove(1);
+        list.remove(3);
+
+        // Then
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should union without duplicates and intersect sorted arrays")
+    void shouldUnionAndIntersect() {
+        // Given
+        long[] a = {1, 3, 5, 7};
+        long[] b = {3, 4, 5};
+
+        // When & Then
+        assertArrayEquals(new long[]{1, 3, 4, 5, 7}, PostingList.union(new long[][]{a, b}));
+        assertArrayEquals(new long[]{3, 5}, PostingList.intersect(a, b));
+        assertArrayEquals(new long[0], PostingList.intersect(a, new long[0]));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.bookapp.persistence.search;
+
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.SortSpec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юніт-тести для SortedOrder
+ */
+@DisplayName("SortedOrder Tests")
+class SortedOrderTest {
+
+    private final List<Book> books = List.of(
+            new Book(1L, "Refactoring", "Fowler", null, 1999),
+            new Book(2L, "Clean Code", "Martin", null, 2008),
+            new Book(3L, "Domain-Driven Design", "Evans", null, null),
+            new Book(4L, "Algorithms", "Sedgewick", null, 2011),
+            new Book(5L, "Clean Architecture", "Martin", null, 2017));
+
+    @Test
+    @DisplayName("Should order a subset by rank and drop unknown ids")
+    void shouldSortSubset() {
+        // Given
+        SortedOrder byTitle = SortedOrder.build(books, SortSpec.parse("title"));
+
+        // When
+        long[] sorted = byTitle.sort(new long[]{1, 5, 99, 4});
+
+        // Then
+        assertArrayEquals(new long[]{4, 5, 1}, sorted);
+    }
+
+    @Test
+    @DisplayName("Should keep books without year last in both directions")
+    void shouldKeepMissingYearLast() {
+        // Given
+        long[] all = {1, 2, 3, 4, 5};
+
+        // When
+        long[] ascending = SortedOrder.build(books, SortSpec.parse("year")).sort(all);
+        long[] descending = SortedOrder.build(books, SortSpec.parse("-year")).sort(all);
+
+        // Then
+        assertArrayEquals(new long[]{1, 2, 4, 5, 3}, ascending);
+        assertArrayEquals(new long[]{5, 4, 2, 1, 3}, descending);
+    }
+
+    @Test
+    @DisplayName("Should break ties of the first key by the next one")
+    void shouldBreakTiesByNextKey() {
+        // Given
+        SortedOrder byAuthorThenYear = SortedOrder.build(books, SortSpec.parse("author,-year"));
+
+        // When
+        long[] sorted = byAuthorThenYear.sort(new long[]{2, 5, 3});
+
+        // Then
+        assertArrayEquals(new long[]{3, 5, 2}, sorted);
+    }
+}
\ No newline at end of file
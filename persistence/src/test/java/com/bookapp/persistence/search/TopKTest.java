@@ -0,0 +1,59 @@
+package com.bookapp.persistence.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юніт-тести для TopK
+ */
+@DisplayName("TopK Tests")
+class TopKTest {
+
+    @Test
+    @DisplayName("Should keep the k best scores in descending order")
+    void shouldKeepBestScoresInOrder() {
+        // Given
+        TopK top = new TopK(3);
+
+        // When
+        top.offer(1, 0.5);
+        top.offer(2, 3.0);
+        top.offer(3, 1.0);
+        top.offer(4, 2.0);
+        top.offer(5, 0.1);
+
+        // Then
+        assertArrayEquals(new long[]{2, 4, 3}, top.drainDescending());
+        assertArrayEquals(new long[0], top.drainDescending());
+    }
+
+    @Test
+    @DisplayName("Should rank the smaller id first on equal scores")
+    void shouldBreakTiesBySmallerId() {
+        // Given
+        TopK top = new TopK(2);
+
+        // When
+        top.offer(30, 1.0);
+        top.offer(10, 1.0);
+        top.offer(20, 1.0);
+
+        // Then
+        assertArrayEquals(new long[]{10, 20}, top.drainDescending());
+    }
+
+    @Test
+    @DisplayName("Should return nothing for zero capacity")
+    void shouldIgnoreOffersWithZeroCapacity() {
+        // Given
+        TopK top = new TopK(0);
+
+        // When
+        top.offer(1, 1.0);
+
+        // Then
+        assertArrayEquals(new long[0], top.drainDescending());
+    }
+}
\ No newline at end of file
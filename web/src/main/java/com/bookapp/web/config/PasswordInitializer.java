@@ -1,5 +1,6 @@
 package com.bookapp.web.config;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -19,6 +20,9 @@ public class PasswordInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Override
     public void run(String... args) {
         try {
@@ -47,6 +51,9 @@ public class PasswordInitializer implements CommandLineRunner {
                         hashedUser
                 );
 
+                // Оновлення в обхід Hibernate - скидаємо кеш другого рівня, щоб не віддати старі паролі
+                entityManagerFactory.getCache().evictAll();
+
                 System.out.println("✅ Паролі успішно захешовані!");
                 System.out.println("   admin: admin123");
                 System.out.println("   ivan, maria, olena, dmytro: password123");
@@ -40,11 +40,16 @@ public class SecurityConfig {
                         // Доступ для ADMIN до управління книгами
                         .requestMatchers("/books/add", "/books/*/edit", "/books/*/delete").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/books/*/comments/*/delete").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/comments/delete-batch").hasRole("ADMIN")
 
                         // Доступ для USER та ADMIN до перегляду книг та додавання коментарів
-                        .requestMatchers(HttpMethod.GET, "/books", "/books/{id}").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/books", "/books/{id}", "/books/*/comments").hasAnyRole("USER", "ADMIN")
                         .requestMatchers(HttpMethod.POST, "/books/*/comments").hasAnyRole("USER", "ADMIN")
 
+                        // Службова статистика, експорт та імпорт каталогу - тільки для ADMIN
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/books/export", "/api/books/import").hasRole("ADMIN")
+
                         // Всі API-запити потребують авторизації
                         .requestMatchers("/api/**").authenticated()
 
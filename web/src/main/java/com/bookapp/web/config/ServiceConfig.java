@@ -1,25 +1,120 @@
 package com.bookapp.web.config;
 
+import com.bookapp.core.cache.CachingCatalogRepository;
+import com.bookapp.core.ingest.CommentIngestQueue;
+import com.bookapp.core.port.BookRecommendationPort;
+import com.bookapp.core.port.BookViewCountPort;
 import com.bookapp.core.port.CatalogRepositoryPort;
 import com.bookapp.core.port.CommentRepositoryPort;
 import com.bookapp.core.port.UserRepositoryPort;
+import com.bookapp.core.service.BookDetailsService;
+import com.bookapp.core.service.BookImportService;
 import com.bookapp.core.service.CatalogService;
 import com.bookapp.core.service.CommentService;
 import com.bookapp.core.service.UserService;
+import com.bookapp.core.trending.TrendingBooks;
+import com.bookapp.core.views.BookViewCounter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class ServiceConfig {
 
+    /**
+     * Кеш результатів пошуку поверх адаптера каталогу
+     */
     @Bean
-    public CatalogService catalogService(CatalogRepositoryPort catalogRepository) {
-        return new CatalogService(catalogRepository);
+    public CachingCatalogRepository cachingCatalogRepository(
+            @Qualifier("catalogRepositoryAdapter") CatalogRepositoryPort catalogRepository,
+            @Value("${app.catalog.cache.max-size:500}") int maxSize,
+            @Value("${app.catalog.cache.ttl-ms:300000}") long ttlMillis,
+            @Value("${app.catalog.cache.list-ttl-ms:10000}") long listTtlMillis) {
+        return new CachingCatalogRepository(catalogRepository, maxSize, ttlMillis, listTtlMillis);
+    }
+
+    /**
+     * Рейтинг популярних книг за ковзним вікном з переглядів і коментарів
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public TrendingBooks trendingBooks(
+            @Value("${app.trending.window-hours:168}") int windowHours,
+            @Value("${app.trending.bucket-minutes:60}") int bucketMinutes,
+            @Value("${app.trending.size:5}") int size,
+            @Value("${app.trending.view-weight:1}") long viewWeight,
+            @Value("${app.trending.comment-weight:5}") long commentWeight,
+            @Value("${app.trending.publish-interval-ms:5000}") long publishIntervalMillis) {
+        int windowBuckets = Math.max(1, windowHours * 60 / bucketMinutes);
+        return new TrendingBooks(bucketMinutes * 60_000L, windowBuckets, size,
+                viewWeight, commentWeight, publishIntervalMillis);
+    }
+
+    @Bean
+    public CatalogService catalogService(CachingCatalogRepository cachingCatalogRepository, TrendingBooks trendingBooks) {
+        return new CatalogService(cachingCatalogRepository, trendingBooks);
+    }
+
+    /**
+     * Масовий імпорт пише в каталог через кеш, щоб результати пошуку скидались після кожної порції
+     */
+    @Bean
+    public BookImportService bookImportService(
+            CachingCatalogRepository cachingCatalogRepository,
+            @Value("${app.catalog.import.chunk-size:1000}") int chunkSize) {
+        return new BookImportService(cachingCatalogRepository, chunkSize);
+    }
+
+    /**
+     * Сторінка книги: книга через кеш каталогу, коментарі - однією порцією
+     */
+    @Bean
+    public BookDetailsService bookDetailsService(
+            CachingCatalogRepository cachingCatalogRepository,
+            CommentService commentService,
+            TrendingBooks trendingBooks,
+            BookViewCounter bookViewCounter,
+            BookRecommendationPort bookRecommendationPort,
+            @Value("${app.catalog.details.comments-page-size:20}") int commentsPageSize,
+            @Value("${app.recommendations.size:5}") int recommendationsSize) {
+        return new BookDetailsService(cachingCatalogRepository, commentService, commentsPageSize,
+                trendingBooks, bookViewCounter, bookRecommendationPort, recommendationsSize);
+    }
+
+    /**
+     * Перегляди сторінок книг: накопичуються в пам'яті, записуються пакетом раз на flush-interval-ms
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public BookViewCounter bookViewCounter(
+            BookViewCountPort bookViewCountPort,
+            @Value("${app.catalog.views.flush-interval-ms:5000}") long flushIntervalMillis,
+            @Value("${app.catalog.views.max-pending:10000}") long maxPending) {
+        return new BookViewCounter(bookViewCountPort, flushIntervalMillis, maxPending);
+    }
+
+    /**
+     * Асинхронний запис коментарів порціями - лише при app.comments.ingest.mode=async
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.comments.ingest.mode", havingValue = "async")
+    public CommentIngestQueue commentIngestQueue(
+            CommentRepositoryPort commentRepository,
+            @Value("${app.comments.ingest.capacity:10000}") int capacity,
+            @Value("${app.comments.ingest.batch-size:200}") int batchSize,
+            @Value("${app.comments.ingest.linger-ms:10}") long lingerMillis) {
+        return new CommentIngestQueue(commentRepository, capacity, batchSize, lingerMillis);
     }
 
     @Bean
-    public CommentService commentService(CommentRepositoryPort commentRepository) {
-        return new CommentService(commentRepository);
+    public CommentService commentService(
+            CommentRepositoryPort commentRepository,
+            ObjectProvider<CommentIngestQueue> commentIngestQueue,
+            @Value("${app.comments.ingest.read-your-writes-timeout-ms:2000}") long readYourWritesTimeoutMillis,
+            CachingCatalogRepository cachingCatalogRepository) {
+        return new CommentService(commentRepository, commentIngestQueue.getIfAvailable(),
+                readYourWritesTimeoutMillis, cachingCatalogRepository);
     }
 
     @Bean
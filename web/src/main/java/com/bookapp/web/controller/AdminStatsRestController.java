@@ -0,0 +1,182 @@
+package com.bookapp.web.controller;
+
+import com.bookapp.core.cache.CacheStats;
+import com.bookapp.core.cache.CachingCatalogRepository;
+import com.bookapp.core.ingest.CommentIngestQueue;
+import com.bookapp.core.ingest.CommentIngestStats;
+import com.bookapp.core.recommend.CoOccurrenceGraph;
+import com.bookapp.core.trending.TrendingBooks;
+import com.bookapp.core.views.BookViewCounter;
+import com.bookapp.core.views.BookViewStats;
+import com.bookapp.persistence.cache.SecondLevelCacheStatistics;
+import com.bookapp.persistence.maintenance.RetentionJob;
+import com.bookapp.persistence.maintenance.RetentionRunStats;
+import com.bookapp.persistence.recommend.CommentCoOccurrenceIndex;
+import com.bookapp.persistence.stats.BookStatsStore;
+import com.bookapp.web.stream.CommentStreamRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * REST API зі службовою статистикою (тільки для ADMIN)
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminStatsRestController {
+
+    @Autowired
+    private CachingCatalogRepository cachingCatalogRepository;
+
+    @Autowired
+    private SecondLevelCacheStatistics secondLevelCacheStatistics;
+
+    @Autowired
+    private CommentStreamRegistry commentStreamRegistry;
+
+    @Autowired
+    private RetentionJob retentionJob;
+
+    @Autowired
+    private BookStatsStore bookStatsStore;
+
+    @Autowired
+    private TrendingBooks trendingBooks;
+
+    @Autowired
+    private BookViewCounter bookViewCounter;
+
+    @Autowired
+    private CommentCoOccurrenceIndex commentCoOccurrenceIndex;
+
+    // Є лише в асинхронному режимі запису коментарів
+    @Autowired(required = false)
+    private CommentIngestQueue commentIngestQueue;
+
+    /**
+     * Статистика кешу результатів пошуку, регіонів кешу другого рівня Hibernate
+     * черги асинхронного запису, живих підписок на коментарі, фонового очищення, лічильника переглядів
+     * та графа рекомендацій
+     * GET /api/admin/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("searchCache", toMap(cachingCatalogRepository.stats()));
+        response.put("secondLevelCache", secondLevelCacheStatistics.regions());
+        Map<String, Object> stream = new LinkedHashMap<>();
+        stream.put("subscribers", commentStreamRegistry.subscriberCount());
+        stream.put("evicted", commentStreamRegistry.evictedCount());
+        response.put("commentStream", stream);
+        response.put("retention", toMaps(retentionJob.lastRuns()));
+        response.put("trending", trendingBooks.top());
+        response.put("bookViews", toMap(bookViewCounter.stats()));
+        response.put("recommendations", recommendationStats());
+        if (commentIngestQueue != null) {
+            response.put("commentIngest", toMap(commentIngestQueue.stats()));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Позаплановий запуск очищення (синхронно, в межах app.maintenance.retention.max-run-ms)
+     * POST /api/admin/maintenance/retention
+     */
+    @PostMapping("/maintenance/retention")
+    public ResponseEntity<Map<String, Object>> runRetention() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("started", retentionJob.run());
+        response.put("retention", toMaps(retentionJob.lastRuns()));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Перерахунок статистики коментарів книг (book_stats), якщо вона розійшлася з comments
+     * POST /api/admin/maintenance/book-stats
+     */
+    @PostMapping("/maintenance/book-stats")
+    public ResponseEntity<Map<String, Object>> rebuildBookStats() {
+        long start = System.currentTimeMillis();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("corrected", bookStatsStore.rebuild());
+        response.put("durationMs", System.currentTimeMillis() - start);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Позачергова перебудова графа "читачі також обговорювали" з comments
+     * POST /api/admin/maintenance/recommendations
+     */
+    @PostMapping("/maintenance/recommendations")
+    public ResponseEntity<Map<String, Object>> rebuildRecommendations() {
+        commentCoOccurrenceIndex.rebuild();
+        return ResponseEntity.ok(recommendationStats());
+    }
+
+    private Map<String, Object> recommendationStats() {
+        CoOccurrenceGraph graph = commentCoOccurrenceIndex.graph();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("users", graph.userCount());
+        map.put("books", graph.bookCount());
+        map.put("links", graph.linkCount());
+        map.put("lastRebuildMs", commentCoOccurrenceIndex.getLastRebuildMillis());
+        return map;
+    }
+
+    private Map<String, Object> toMap(CacheStats stats) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("hits", stats.getHits());
+        map.put("misses", stats.getMisses());
+        map.put("hitRate", stats.getHitRate());
+        map.put("evictions", stats.getEvictions());
+        map.put("size", stats.getSize());
+        map.put("maxSize", stats.getMaxSize());
+        return map;
+    }
+
+    private Map<String, Object> toMap(CommentIngestStats stats) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("queued", stats.getQueued());
+        map.put("capacity", stats.getCapacity());
+        map.put("written", stats.getWritten());
+        map.put("rejected", stats.getRejected());
+        map.put("dropped", stats.getDropped());
+        map.put("batches", stats.getBatches());
+        map.put("averageBatchSize", stats.getAverageBatchSize());
+        return map;
+    }
+
+    private Map<String, Object> toMap(BookViewStats stats) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("pending", stats.getPending());
+        map.put("maxPending", stats.getMaxPending());
+        map.put("flushed", stats.getFlushed());
+        map.put("flushes", stats.getFlushes());
+        map.put("failures", stats.getFailures());
+        map.put("averageFlushSize", stats.getAverageFlushSize());
+        return map;
+    }
+
+    private List<Map<String, Object>> toMaps(List<RetentionRunStats> runs) {
+        return runs.stream().map(run -> {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("task", run.getTask());
+            map.put("startedAt", run.getStartedAt());
+            map.put("durationMs", run.getDurationMillis());
+            map.put("rows", run.getRows());
+            map.put("chunks", run.getChunks());
+            map.put("rowsPerSecond", run.getRowsPerSecond());
+            map.put("completed", run.isCompleted());
+            map.put("totalRows", run.getTotalRows());
+            return map;
+        }).collect(Collectors.toList());
+    }
+}
\ No newline at end of file
@@ -1,32 +1,50 @@
 package com.bookapp.web.controller;
 
 import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.BookDetails;
+import com.bookapp.core.domain.BookFilter;
 import com.bookapp.core.domain.Comment;
-import com.bookapp.core.domain.Page;
+import com.bookapp.core.domain.CursorPage;
+import com.bookapp.core.domain.CursorPageRequest;
+import com.bookapp.core.domain.FacetedPage;
 import com.bookapp.core.domain.PageRequest;
+import com.bookapp.core.domain.Slice;
+import com.bookapp.core.domain.SortSpec;
 import com.bookapp.core.domain.User;
+import com.bookapp.core.service.BookDetailsService;
 import com.bookapp.core.service.CatalogService;
 import com.bookapp.core.service.CommentService;
 import com.bookapp.core.service.UserService;
 import com.bookapp.web.dto.BookFormDto;
 import com.bookapp.web.service.MailService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.List;
 
 @Controller
 @RequestMapping("/books")
 public class BookController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private CatalogService catalogService;
 
     @Autowired
     private CommentService commentService;
 
+    @Autowired
+    private BookDetailsService bookDetailsService;
+
+    @Value("${app.catalog.details.comments-page-size:20}")
+    private int commentsPageSize;
+
     @Autowired
     private UserService userService;
 
@@ -36,38 +54,105 @@ public class BookController {
     @GetMapping
     public String listBooks(
             @RequestParam(value = "q", required = false) String query,
-            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "page", required = false) Integer page,
             @RequestParam(value = "size", defaultValue = "12") int size,
             @RequestParam(value = "sort", defaultValue = "title") String sort,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "count", defaultValue = "false") boolean count,
+            @RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy,
+            @RequestParam(value = "author", required = false) List<String> authors,
+            @RequestParam(value = "decade", required = false) List<Integer> decades,
+            @RequestParam(value = "isbn", required = false) Boolean hasIsbn,
             Model model) {
 
-        PageRequest pageRequest = new PageRequest(page, size, sort);
-        Page<Book> bookPage = catalogService.searchBooks(query, pageRequest);
+        BookFilter filter = new BookFilter(authors, decades, hasIsbn);
+        SortSpec sortSpec = SortSpec.parse(sort);
+        // Релевантність і складені сортування не мають keyset-курсора - такі списки завжди посторінкові
+        boolean hasQuery = query != null && !query.isBlank();
+        boolean offsetOnly = sortSpec.isRelevance() ? hasQuery : !sortSpec.supportsCursor()
+                || (hasQuery && !catalogService.supportsCursorSearch());
+
+        // Фасетні фільтри або нечіткий пошук - сторінки з індексу в пам'яті разом з лічильниками;
+        // явний номер сторінки - offset-пагінація (загальна кількість лише на вимогу),
+        // (а також для сортувань без курсора), інакше keyset-пагінація за курсором
+        if (!filter.isEmpty() || fuzzy) {
+            int pageNumber = page != null ? page : 0;
+            PageRequest pageRequest = new PageRequest(pageNumber, size, sort, fuzzy);
+            FacetedPage<Book> facetedPage = catalogService.searchBooks(query, filter, pageRequest);
+
+            model.addAttribute("bookPage", facetedPage.getPage());
+            model.addAttribute("books", facetedPage.getPage().getContent());
+            model.addAttribute("currentPage", pageNumber);
+            model.addAttribute("facets", facetedPage.getFacets());
+        } else if (page != null || offsetOnly) {
+            int pageNumber = page != null ? page : 0;
+            PageRequest pageRequest = new PageRequest(pageNumber, size, sort);
+            Slice<Book> bookPage = catalogService.browseBooks(query, pageRequest);
+            if (count && !bookPage.isCounted()) {
+                bookPage = bookPage.withTotalElements(catalogService.countBooks(query));
+            }
+
+            model.addAttribute("bookPage", bookPage);
+            model.addAttribute("books", bookPage.getContent());
+            model.addAttribute("currentPage", pageNumber);
+            model.addAttribute("facets", catalogService.getFacets(query, filter));
+        } else {
+            CursorPageRequest pageRequest = new CursorPageRequest(size, sort, after, before);
+            CursorPage<Book> cursorPage = catalogService.searchBooks(query, pageRequest);
+
+            model.addAttribute("cursorPage", cursorPage);
+            model.addAttribute("books", cursorPage.getContent());
+            model.addAttribute("facets", catalogService.getFacets(query, filter));
+        }
 
-        model.addAttribute("bookPage", bookPage);
+        model.addAttribute("trending", catalogService.getTrendingBooks());
         model.addAttribute("query", query);
-        model.addAttribute("currentPage", page);
-        model.addAttribute("sort", sort);
+        model.addAttribute("sort", sortSpec.toString());
+        model.addAttribute("fuzzy", fuzzy);
+        model.addAttribute("filter", filter);
 
         return "books";
     }
 
     @GetMapping("/{id}")
-    public String bookDetails(@PathVariable Long id, Model model) {
-        Book book = catalogService.getBookById(id);
+    public String bookDetails(@PathVariable Long id, Model model, Principal principal) {
+        // Після додавання коментаря автор має побачити його, навіть якщо запис ще в черзі
+        if (principal != null) {
+            commentService.awaitPendingComments(principal.getName());
+        }
+        BookDetails details = bookDetailsService.getBookDetails(id).orElse(null);
 
-        if (book == null) {
+        if (details == null) {
             return "error/404";
         }
 
-        List<Comment> comments = commentService.getCommentsByBookId(id);
-
-        model.addAttribute("book", book);
-        model.addAttribute("comments", comments);
+        model.addAttribute("book", details.getBook());
+        model.addAttribute("comments", details.getComments());
+        model.addAttribute("hasMoreComments", details.hasMoreComments());
+        model.addAttribute("nextCommentsCursor", details.getNextCommentsCursor());
+        model.addAttribute("alsoDiscussed", details.getAlsoDiscussed());
 
         return "book-details";
     }
 
+    /**
+     * Наступна порція коментарів для кнопки "завантажити ще": HTML-фрагмент сторінки книги,
+     * курсор наступної порції - у заголовку X-Next-Cursor
+     */
+    @GetMapping("/{id}/comments")
+    public String moreComments(@PathVariable Long id,
+                               @RequestParam("after") String after,
+                               Model model,
+                               HttpServletResponse response) {
+        CursorPage<Comment> comments = commentService.getCommentsByBookId(id, after, commentsPageSize);
+        if (comments.hasNext()) {
+            response.setHeader(NEXT_CURSOR_HEADER, comments.getNextCursor());
+        }
+        model.addAttribute("comments", comments.getContent());
+        return "book-details :: comment-items";
+    }
+
     @GetMapping("/add")
     public String showAddForm(Model model) {
         model.addAttribute("book", new BookFormDto());
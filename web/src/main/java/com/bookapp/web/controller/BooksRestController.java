@@ -0,0 +1,146 @@
+package com.bookapp.web.controller;
+
+import com.bookapp.core.domain.BookImportReport;
+import com.bookapp.core.domain.Suggestion;
+import com.bookapp.core.service.BookImportService;
+import com.bookapp.core.service.CatalogService;
+import com.bookapp.web.export.BookExportWriter;
+import com.bookapp.web.export.ExportFormat;
+import com.bookapp.web.importer.BookCsvReader;
+import com.bookapp.web.stream.CommentStreamRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST API контролер для роботи з книгами
+ */
+@RestController
+@RequestMapping("/api/books")
+public class BooksRestController {
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private CommentStreamRegistry commentStreamRegistry;
+
+    /**
+     * Автодоповнення пошукового рядка за назвами та авторами
+     * GET /api/books/suggest?prefix=...
+     *
+     * @param prefix Початок назви або імені автора
+     * @param limit Максимальна кількість варіантів (до 10)
+     * @return Варіанти, відсортовані за популярністю
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(catalogService.suggest(prefix, limit));
+    }
+
+    /**
+     * Живі коментарі книги (Server-Sent Events)
+     * GET /api/books/{id}/comments/stream
+     *
+     * Подія "comment" з JSON коментаря на кожен новий коментар, пінг-коментар кожні кілька секунд.
+     * Повільний клієнт відключається - EventSource у браузері перепідключається сам
+     */
+    @GetMapping(value = "/{id}/comments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamComments(@PathVariable Long id) {
+        if (catalogService.getBookById(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = commentStreamRegistry.subscribe(id);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                // Без буферизації на проксі (nginx), інакше події приходять пачками
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    /**
+     * Вивантаження всього каталогу для синхронізації (тільки для ADMIN)
+     * GET /api/books/export?format=csv|ndjson&gzip=true
+     *
+     * Рядки пишуться у відповідь у міру читання з БД, тож пам'ять не залежить
+     * від розміру каталогу
+     *
+     * @param format csv (за замовчуванням) або ndjson
+     * @param gzip Стиснути файл (.gz)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        String fileName = "books-" + LocalDate.now() + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+            BookExportWriter exportWriter = new BookExportWriter(writer, exportFormat, objectMapper);
+            exportWriter.writeHeader();
+            catalogService.exportBooks(exportWriter::write);
+            // close() дописує кінець gzip-потоку
+            writer.close();
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+
+    /**
+     * Масовий імпорт книг з CSV (тільки для ADMIN)
+     * POST /api/books/import (multipart, поле file)
+     *
+     * Колонки: title, author, isbn, year - у будь-якому порядку, з рядком заголовків
+     *
+     * @return Звіт: кількість імпортованих рядків, швидкість та помилки по рядках
+     */
+    @PostMapping("/import")
+    public ResponseEntity<BookImportReport> importBooks(@RequestParam("file") MultipartFile file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            return ResponseEntity.ok(bookImportService.importBooks(new BookCsvReader(reader)));
+        }
+    }
+}
\ No newline at end of file
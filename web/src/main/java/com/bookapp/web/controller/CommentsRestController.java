@@ -1,5 +1,7 @@
 package com.bookapp.web.controller;
 
+import com.bookapp.core.domain.Comment;
+import com.bookapp.core.domain.CursorPage;
 import com.bookapp.core.service.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -7,6 +9,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,6 +23,32 @@ public class CommentsRestController {
     @Autowired
     private CommentService commentService;
 
+    /**
+     * Порція коментарів до книги, найновіші спочатку ("завантажити ще")
+     * GET /api/comments/book/{bookId}?after=...&size=20
+     *
+     * @param after курсор nextCursor з попередньої відповіді; без нього - перша порція
+     */
+    @GetMapping("/book/{bookId}")
+    public ResponseEntity<Map<String, Object>> bookComments(
+            @PathVariable Long bookId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(toResponse(commentService.getCommentsByBookId(bookId, after, size)));
+    }
+
+    /**
+     * Порція коментарів користувача, найновіші спочатку
+     * GET /api/comments/user/{userId}?after=...&size=20
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<Map<String, Object>> userComments(
+            @PathVariable Long userId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(toResponse(commentService.getCommentsByUserId(userId, after, size)));
+    }
+
     /**
      * Видалення коментаря через REST API
      * POST /api/comments/delete
@@ -46,4 +76,33 @@ public class CommentsRestController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Пакетне видалення коментарів книги одним запитом
+     * POST /api/comments/delete-batch?bookId=1&ids=10,11,12
+     *
+     * Коментарі, старші за 24 години або з іншої книги, пропускаються:
+     * різниця між requested та deleted - кількість невидалених
+     */
+    @PostMapping("/delete-batch")
+    public ResponseEntity<Map<String, Object>> deleteComments(
+            @RequestParam("bookId") long bookId,
+            @RequestParam("ids") List<Long> ids) {
+
+        int deleted = commentService.deleteAll(bookId, ids);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("requested", ids.size());
+        response.put("deleted", deleted);
+
+        return ResponseEntity.ok(response);
+    }
+
+    private Map<String, Object> toResponse(CursorPage<Comment> page) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("comments", page.getContent());
+        response.put("nextCursor", page.getNextCursor());
+        return response;
+    }
 }
\ No newline at end of file
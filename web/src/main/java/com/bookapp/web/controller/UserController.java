@@ -1,22 +1,30 @@
 package com.bookapp.web.controller;
 
 import com.bookapp.core.domain.Comment;
+import com.bookapp.core.domain.CursorPage;
 import com.bookapp.core.domain.User;
 import com.bookapp.core.service.CommentService;
 import com.bookapp.core.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
+import java.security.Principal;
 
 @Controller
 @RequestMapping("/users")
 public class UserController {
 
+    // Той самий розмір порції, що й на сторінці книги
+    @Value("${app.catalog.details.comments-page-size:20}")
+    private int commentsPageSize;
+
     @Autowired
     private UserService userService;
 
@@ -24,19 +32,42 @@ public class UserController {
     private CommentService commentService;
 
     @GetMapping("/{id}/comments")
-    public String userComments(@PathVariable Long id, Model model) {
+    public String userComments(@PathVariable Long id, Model model, Principal principal) {
         User user = userService.findById(id);
 
         if (user == null) {
             return "error/404";
         }
+        // Чекаємо лише на власні коментарі того, хто дивиться, а не автора сторінки
+        if (principal != null) {
+            commentService.awaitPendingComments(principal.getName());
+        }
 
-        List<Comment> comments = commentService.getCommentsByUserId(id);
+        // Перша порція коментарів, решта - кнопкою "завантажити ще" через /api/comments/user/{id}
+        CursorPage<Comment> comments = commentService.getCommentsByUserId(id, null, commentsPageSize);
 
         model.addAttribute("user", user);
         model.addAttribute("username", user.getUsername());
-        model.addAttribute("comments", comments);
+        model.addAttribute("comments", comments.getContent());
+        model.addAttribute("nextCommentsCursor", comments.getNextCursor());
+        model.addAttribute("commentsTotal", commentService.countCommentsByUserId(id));
 
         return "user-comments";
     }
+
+    /**
+     * Наступна порція коментарів користувача для кнопки "завантажити ще" (HTML-фрагмент)
+     */
+    @GetMapping(value = "/{id}/comments", params = "after")
+    public String moreComments(@PathVariable Long id,
+                               @RequestParam("after") String after,
+                               Model model,
+                               HttpServletResponse response) {
+        CursorPage<Comment> comments = commentService.getCommentsByUserId(id, after, commentsPageSize);
+        if (comments.hasNext()) {
+            response.setHeader(BookController.NEXT_CURSOR_HEADER, comments.getNextCursor());
+        }
+        model.addAttribute("comments", comments.getContent());
+        return "user-comments :: comment-items";
+    }
 }
\ No newline at end of file
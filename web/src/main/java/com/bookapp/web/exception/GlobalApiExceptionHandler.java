@@ -1,11 +1,13 @@
 package com.bookapp.web.exception;
 
 import com.bookapp.core.exception.BookNotFoundException;
+import com.bookapp.core.exception.CommentQueueFullException;
 import com.bookapp.core.exception.CommentTooOldException;
 import com.bookapp.core.exception.InvalidCommentDeleteException;
 import com.bookapp.core.exception.ValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -103,6 +105,27 @@ public class GlobalApiExceptionHandler {
                 .body(body);
     }
 
+    /**
+     * Обробка CommentQueueFullException (зворотний тиск черги коментарів)
+     * HTTP 503 Service Unavailable з Retry-After
+     */
+    @ExceptionHandler(CommentQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> handleCommentQueueFull(
+            CommentQueueFullException ex) {
+
+        log.warn("Comment rejected: {}", ex.getMessage());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     /**
      * Обробка загальних винятків
      * HTTP 500 Internal Server Error
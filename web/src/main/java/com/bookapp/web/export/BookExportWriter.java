@@ -0,0 +1,86 @@
+package com.bookapp.web.export;
+
+import com.bookapp.core.domain.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Запис книг у потік по одній: CSV (RFC 4180, з рядком заголовків)
+ * або NDJSON (один JSON-об'єкт на рядок).
+ * Нічого не накопичує, тож пам'ять не залежить від розміру каталогу.
+ */
+public class BookExportWriter {
+
+    private static final String[] COLUMNS = {"id", "title", "author", "isbn", "year"};
+
+    private final Writer out;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+
+    public BookExportWriter(Writer out, ExportFormat format, ObjectMapper objectMapper) {
+        this.out = out;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    public void writeHeader() {
+        if (format == ExportFormat.CSV) {
+            writeLine(String.join(",", COLUMNS));
+        }
+    }
+
+    /**
+     * Помилка запису (наприклад, клієнт закрив з'єднання) - UncheckedIOException,
+     * щоб перервати читання курсора
+     */
+    public void write(Book book) {
+        writeLine(format == ExportFormat.CSV ? toCsv(book) : toJson(book));
+    }
+
+    private String toCsv(Book book) {
+        return book.getId() + ","
+                + csvField(book.getTitle()) + ","
+                + csvField(book.getAuthor()) + ","
+                + csvField(book.getIsbn()) + ","
+                + (book.getYear() != null ? book.getYear() : "");
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private String toJson(Book book) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", book.getId());
+        row.put("title", book.getTitle());
+        row.put("author", book.getAuthor());
+        row.put("isbn", book.getIsbn());
+        row.put("year", book.getYear());
+        try {
+            return objectMapper.writeValueAsString(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize book " + book.getId(), e);
+        }
+    }
+
+    private void writeLine(String line) {
+        try {
+            out.write(line);
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
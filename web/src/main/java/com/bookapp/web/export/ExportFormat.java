@@ -0,0 +1,38 @@
+package com.bookapp.web.export;
+
+import com.bookapp.core.exception.ValidationException;
+
+import java.util.Locale;
+
+/**
+ * Формати вивантаження каталогу
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(name.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new ValidationException("Непідтримуваний формат експорту: " + name);
+    }
+}
\ No newline at end of file
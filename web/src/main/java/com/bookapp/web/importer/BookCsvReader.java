@@ -0,0 +1,176 @@
+package com.bookapp.web.importer;
+
+import com.bookapp.core.domain.BookImportRow;
+import com.bookapp.core.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Потокове читання CSV (RFC 4180) з книгами для імпорту.
+ *
+ * Перший рядок - заголовки; потрібні колонки title та author, isbn і year - необов'язкові,
+ * решта (наприклад, id з файлу експорту) ігноруються. Рядки читаються по одному,
+ * тож файл будь-якого розміру не завантажується в пам'ять.
+ */
+public class BookCsvReader implements Iterator<BookImportRow> {
+
+    private final Reader reader;
+    private final int titleColumn;
+    private final int authorColumn;
+    private final int isbnColumn;
+    private final int yearColumn;
+
+    private long line = 1;
+    private long recordLine;
+    private int lookahead = -2;
+    private List<String> next;
+
+    /**
+     * @param reader буферизоване джерело; закривається викликачем
+     */
+    public BookCsvReader(Reader reader) {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new ValidationException("Файл імпорту порожній");
+        }
+
+        List<String> columns = new ArrayList<>();
+        for (String name : header) {
+            // BOM на початку файлів, збережених в Excel
+            columns.add(name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+        }
+        titleColumn = columns.indexOf("title");
+        authorColumn = columns.indexOf("author");
+        isbnColumn = columns.indexOf("isbn");
+        yearColumn = columns.indexOf("year");
+        if (titleColumn < 0 || authorColumn < 0) {
+            throw new ValidationException("У файлі імпорту потрібні колонки title та author");
+        }
+        next = readRecord();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public BookImportRow next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        List<String> record = next;
+        long lineNumber = recordLine;
+        next = readRecord();
+        return new BookImportRow(lineNumber, field(record, titleColumn), field(record, authorColumn),
+                field(record, isbnColumn), field(record, yearColumn));
+    }
+
+    private static String field(List<String> record, int column) {
+        return column >= 0 && column < record.size() ? record.get(column) : null;
+    }
+
+    /**
+     * @return поля наступного непорожнього запису або null наприкінці файлу
+     */
+    private List<String> readRecord() {
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            if (c == '\n') {
+                continue;
+            }
+            if (c == '\r') {
+                skipLineFeed();
+                continue;
+            }
+            recordLine = line;
+            unread(c);
+            return readFields();
+        }
+    }
+
+    private List<String> readFields() {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            int c = read();
+            if (quoted) {
+                if (c < 0) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    skipLineFeed();
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private void skipLineFeed() {
+        int c = read();
+        if (c != '\n') {
+            // Окремий \r - теж кінець рядка
+            line++;
+            unread(c);
+        }
+    }
+
+    private int read() {
+        int c;
+        if (lookahead != -2) {
+            c = lookahead;
+            lookahead = -2;
+            return c;
+        }
+        try {
+            c = reader.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        lookahead = c;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.bookapp.web.importer;
+
+import com.bookapp.core.domain.BookImportError;
+import com.bookapp.core.domain.BookImportReport;
+import com.bookapp.core.service.BookImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Імпорт книг з командного рядка:
+ * java -jar web.jar --import-books=feed.csv --spring.main.web-application-type=none
+ *
+ * Без веб-сервера застосунок завершується після імпорту.
+ */
+@Component
+public class BookImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BookImportRunner.class);
+    private static final String OPTION = "import-books";
+    // Скільки помилок по рядках виводити в лог
+    private static final int LOGGED_ERRORS = 20;
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+
+        for (String file : args.getOptionValues(OPTION)) {
+            log.info("Importing books from {}", file);
+            // Імпорт доступний лише ADMIN; запуск з командного рядка діє від імені системи
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "import-cli", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+            try (BufferedReader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+                BookImportReport report = bookImportService.importBooks(new BookCsvReader(reader));
+                log.info("Import of {} finished: {} imported, {} failed, {} rows/s",
+                        file, report.getImportedRows(), report.getFailedRows(), report.getRowsPerSecond());
+                report.getErrors().stream()
+                        .limit(LOGGED_ERRORS)
+                        .map(BookImportError::toString)
+                        .forEach(error -> log.warn("Import error: {}", error));
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,300 @@
+package com.bookapp.web.stream;
+
+import com.bookapp.core.domain.Comment;
+import com.bookapp.core.port.CommentNotificationPort;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Підписки на живі коментарі книг (Server-Sent Events).
+ *
+ * Підключення тримає лише SseEmitter (асинхронний запит сервлета) - потік на нього не виділяється.
+ * Нові коментарі розкладаються в обмежені буфери підписників книги, а відправляє їх
+ * невеликий спільний пул. Підписник, чий буфер переповнився (повільний клієнт), відключається:
+ * браузерний EventSource перепідключиться сам, а сторінка книги покаже пропущене.
+ *
+ * Клієнт, що не читає, блокує потік пулу в send(), доки сокет не відпаде за тайм-аутом запису.
+ * Тому відправка довша за send-timeout-ms відключає підписника, а пул отримує потік на заміну
+ * заблокованому - решта підписників не чекає. Сам емітер чіпають лише потоки пулу:
+ * complete() з іншого потоку став би в чергу за заблокованим send().
+ */
+@Component
+public class CommentStreamRegistry implements CommentNotificationPort {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentStreamRegistry.class);
+
+    // Маркер пінгу в буфері поруч з коментарями
+    private static final Object HEARTBEAT = new Object();
+
+    // Стан Subscriber.sendStarted: відправки немає / відправку визнано завислою
+    private static final long IDLE = 0;
+    private static final long STALLED = -1;
+
+    private final Map<Long, Set<Subscriber>> subscribersByBook = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong evicted = new AtomicLong();
+    // Підписники, для яких зараз виконується send()
+    private final Set<Subscriber> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long sendTimeoutMillis;
+    private final int senderThreads;
+    private final int maxStalledSenders;
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService heartbeat;
+    // Потоки пулу, що досі стоять у завислому send(); під монітором resizeSender
+    private int stalledSenders;
+
+    public CommentStreamRegistry(
+            @Value("${app.comments.stream.max-subscribers:12000}") int maxSubscribers,
+            @Value("${app.comments.stream.buffer-size:32}") int bufferSize,
+            @Value("${app.comments.stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${app.comments.stream.sender-threads:4}") int senderThreads,
+            @Value("${app.comments.stream.heartbeat-seconds:25}") long heartbeatSeconds,
+            @Value("${app.comments.stream.send-timeout-ms:10000}") long sendTimeoutMillis,
+            @Value("${app.comments.stream.max-stalled-senders:64}") int maxStalledSenders) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.senderThreads = senderThreads;
+        this.maxStalledSenders = maxStalledSenders;
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemon("comment-stream-sender"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("comment-stream-heartbeat"));
+        // Пінг тримає з'єднання крізь проксі та виявляє закриті вкладки
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long checkMillis = Math.max(sendTimeoutMillis / 4, 50);
+        this.heartbeat.scheduleAtFixedRate(this::evictStalledSends, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        log.info("CommentStreamRegistry initialized: maxSubscribers={}, bufferSize={}, sendTimeoutMs={}",
+                maxSubscribers, bufferSize, sendTimeoutMillis);
+    }
+
+    /**
+     * Нова підписка на коментарі книги
+     * @return null, якщо досягнуто ліміту підключень
+     */
+    public SseEmitter subscribe(Long bookId) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(bookId, emitter, bufferSize);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        // compute атомарний щодо remove(), який прибирає порожні набори
+        subscribersByBook.compute(bookId, (id, bookSubscribers) -> {
+            Set<Subscriber> result = bookSubscribers != null ? bookSubscribers : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+
+        // Перший пінг одразу відправляє заголовки - EventSource бачить відкрите з'єднання
+        enqueue(subscriber, HEARTBEAT);
+        return emitter;
+    }
+
+    @Override
+    public void commentsAdded(List<Comment> comments) {
+        for (Comment comment : comments) {
+            Set<Subscriber> bookSubscribers = subscribersByBook.get(comment.getBookId());
+            if (bookSubscribers == null) {
+                continue;
+            }
+            for (Subscriber subscriber : bookSubscribers) {
+                enqueue(subscriber, comment);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    public long evictedCount() {
+        return evicted.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        for (Set<Subscriber> bookSubscribers : subscribersByBook.values()) {
+            for (Subscriber subscriber : bookSubscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscriber> bookSubscribers : subscribersByBook.values()) {
+            for (Subscriber subscriber : bookSubscribers) {
+                enqueue(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Object event) {
+        if (!subscriber.buffer.offer(event)) {
+            if (remove(subscriber)) {
+                evicted.incrementAndGet();
+                log.debug("Evicting slow comment stream subscriber of book {}", subscriber.bookId);
+            }
+            // Відключеного підписника емітер завершить потік пулу, коли дійде черга
+        }
+        schedule(subscriber);
+    }
+
+    private void evictStalledSends() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : inFlight) {
+            long started = subscriber.sendStarted.get();
+            if (started > IDLE && now - started > sendTimeoutMillis
+                    && subscriber.sendStarted.compareAndSet(started, STALLED)) {
+                if (remove(subscriber)) {
+                    evicted.incrementAndGet();
+                }
+                log.debug("Evicting comment stream subscriber of book {} stuck in send for {} ms",
+                        subscriber.bookId, now - started);
+                resizeSender(1);
+            }
+        }
+    }
+
+    // Завислий потік пулу заміщується новим, доки таких не більше maxStalledSenders
+    private synchronized void resizeSender(int delta) {
+        stalledSenders += delta;
+        int size = senderThreads + Math.min(stalledSenders, maxStalledSenders);
+        if (size > sender.getMaximumPoolSize()) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    // Для підписника одночасно працює не більше одного завдання відправки - порядок подій зберігається
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Застосунок зупиняється
+                subscriber.sending.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object event;
+            while (!subscriber.removed.get() && (event = subscriber.buffer.poll()) != null) {
+                send(subscriber, event);
+            }
+            if (subscriber.removed.get() && !subscriber.completed) {
+                // Відключений за переповнення буфера чи завислу відправку
+                subscriber.completed = true;
+                subscriber.buffer.clear();
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Клієнт пішов або емітер уже завершено
+            remove(subscriber);
+            subscriber.completed = true;
+            subscriber.buffer.clear();
+        } finally {
+            subscriber.sending.set(false);
+        }
+        if (!subscriber.buffer.isEmpty() || (subscriber.removed.get() && !subscriber.completed)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Object event) throws IOException {
+        subscriber.sendStarted.set(System.currentTimeMillis());
+        inFlight.add(subscriber);
+        try {
+            if (event == HEARTBEAT) {
+                subscriber.emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                Comment comment = (Comment) event;
+                subscriber.emitter.send(SseEmitter.event()
+                        .name("comment")
+                        .data(comment, MediaType.APPLICATION_JSON));
+            }
+        } finally {
+            inFlight.remove(subscriber);
+            if (subscriber.sendStarted.getAndSet(IDLE) == STALLED) {
+                // Потік повернувся із завислого send() - заміна більше не потрібна
+                resizeSender(-1);
+            }
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscribers.decrementAndGet();
+        subscribersByBook.computeIfPresent(subscriber.bookId, (id, bookSubscribers) -> {
+            bookSubscribers.remove(subscriber);
+            return bookSubscribers.isEmpty() ? null : bookSubscribers;
+        });
+        return true;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscriber {
+        private final Long bookId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> buffer;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        // Початок поточного send() (мс) або IDLE / STALLED
+        private final AtomicLong sendStarted = new AtomicLong(IDLE);
+        // Лише для потоку, що виконує drain (видимість дає прапорець sending)
+        private boolean completed;
+
+        private Subscriber(Long bookId, SseEmitter emitter, int bufferSize) {
+            this.bookId = bookId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.bookapp.web.controller;
+
+import com.bookapp.web.BookCatalogApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = BookCatalogApplication.class)
+@AutoConfigureMockMvc
+@DisplayName("Інтеграційні тести кількості SQL-запитів сторінки книги")
+class BookDetailsQueryCountIT {
+
+    private static final long BOOK_ID = 1L;
+    private static final int COMMENTS = 200;
+    private static final String TEXT_PREFIX = "query-count-it ";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Багато коментарів від різних користувачів: з LAZY-завантаженням це був би запит на кожного
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users", Long.class);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            rows.add(new Object[]{BOOK_ID, userIds.get(i % userIds.size()), TEXT_PREFIX + i});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO comments (book_id, user_id, text, created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)", rows);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM comments WHERE text LIKE ?", TEXT_PREFIX + "%");
+    }
+
+    @Test
+    @WithMockUser(username = "ivan", roles = "USER")
+    @DisplayName("Книга і порція коментарів з авторами - не більше двох запитів")
+    void сторінка_книги_читається_двома_запитами() throws Exception {
+        mockMvc.perform(get("/books/{id}", BOOK_ID))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("comments", hasSize(20)))
+                .andExpect(model().attribute("hasMoreComments", true));
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 2, "Expected at most 2 SQL statements, got " + statements);
+    }
+
+    @Test
+    @WithMockUser(username = "ivan", roles = "USER")
+    @DisplayName("Книга з кешу другого рівня - лише запит коментарів")
+    void книга_з_кешу_другого_рівня() throws Exception {
+        mockMvc.perform(get("/books/{id}", BOOK_ID)).andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(get("/books/{id}", BOOK_ID)).andExpect(status().isOk());
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 1, "Expected at most 1 SQL statement, got " + statements);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.bookapp.web.controller;
+
+import com.bookapp.core.cache.CachingCatalogRepository;
+import com.bookapp.core.domain.Book;
+import com.bookapp.persistence.adapter.CommentRepositoryAdapter;
+import com.bookapp.persistence.search.BookFacetIndex;
+import com.bookapp.persistence.search.BookSearchIndex;
+import com.bookapp.persistence.search.BookSuggestIndex;
+import com.bookapp.web.BookCatalogApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = BookCatalogApplication.class)
+@AutoConfigureMockMvc
+@DisplayName("Інтеграційні тести сортування за статистикою коментарів")
+class BookStatSortIT {
+
+    private static final String AUTHOR = "Stat Sort Tester";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CommentRepositoryAdapter comments;
+
+    @Autowired
+    private CachingCatalogRepository catalog;
+
+    @Autowired
+    private BookSearchIndex searchIndex;
+
+    @Autowired
+    private BookSuggestIndex suggestIndex;
+
+    @Autowired
+    private BookFacetIndex facetIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long none;
+    private long two;
+    private long one;
+
+    @BeforeEach
+    void setUp() {
+        none = catalog.save(new Book(null, "Zyxstat Alpha", AUTHOR, null, 2024)).getId();
+        two = catalog.save(new Book(null, "Zyxstat Beta", AUTHOR, null, 2024)).getId();
+        one = catalog.save(new Book(null, "Zyxstat Gamma", AUTHOR, null, 2024)).getId();
+        // Останній коментар - до книги two
+        comments.addComment(two, "ivan", "stat-sort-it 1");
+        comments.addComment(one, "ivan", "stat-sort-it 2");
+        comments.addComment(two, "maria", "stat-sort-it 3");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Коментарі та статистика книг видаляються каскадом
+        for (long bookId : new long[]{none, two, one}) {
+            jdbcTemplate.update("DELETE FROM books WHERE id = ?", bookId);
+            searchIndex.remove(bookId);
+            suggestIndex.remove(bookId);
+            facetIndex.remove(bookId);
+        }
+        catalog.invalidate();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @WithMockUser(username = "ivan", roles = "USER")
+    @DisplayName("Фасетний фільтр: сторінки впорядковані за кількістю коментарів")
+    void фасетний_фільтр_за_кількістю_коментарів() throws Exception {
+        assertEquals(List.of(two, one), ids(get("/books").param("author", AUTHOR)
+                .param("sort", "-comments").param("size", "2").param("page", "0")));
+        assertEquals(List.of(none), ids(get("/books").param("author", AUTHOR)
+                .param("sort", "-comments").param("size", "2").param("page", "1")));
+        assertEquals(List.of(none, one, two), ids(get("/books").param("author", AUTHOR)
+                .param("sort", "comments")));
+    }
+
+    @Test
+    @WithMockUser(username = "ivan", roles = "USER")
+    @DisplayName("Текстовий запит: книги без коментарів - в кінці за активністю")
+    void текстовий_запит_за_активністю() throws Exception {
+        assertEquals(List.of(two, one, none), ids(get("/books").param("q", "zyxstat")
+                .param("sort", "-activity")));
+        assertEquals(List.of(one, two, none), ids(get("/books").param("q", "zyxstat")
+                .param("sort", "activity")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> ids(MockHttpServletRequestBuilder request) throws Exception {
+        List<Book> books = (List<Book>) mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getModelAndView().getModel().get("books");
+        return books.stream().map(Book::getId).toList();
+    }
+}
\ No newline at end of file
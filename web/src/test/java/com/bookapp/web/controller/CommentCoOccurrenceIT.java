@@ -0,0 +1,127 @@
+package com.bookapp.web.controller;
+
+import com.bookapp.core.cache.CachingCatalogRepository;
+import com.bookapp.core.domain.Book;
+import com.bookapp.core.domain.Comment;
+import com.bookapp.persistence.adapter.CommentRepositoryAdapter;
+import com.bookapp.persistence.recommend.CommentCoOccurrenceIndex;
+import com.bookapp.persistence.search.BookFacetIndex;
+import com.bookapp.persistence.search.BookSearchIndex;
+import com.bookapp.persistence.search.BookSuggestIndex;
+import com.bookapp.web.BookCatalogApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = BookCatalogApplication.class)
+@AutoConfigureMockMvc
+@DisplayName("Інтеграційні тести графа спільних обговорень")
+class CommentCoOccurrenceIT {
+
+    private static final String AUTHOR_PREFIX = "co-occurrence-it-";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CommentRepositoryAdapter comments;
+
+    @Autowired
+    private CommentCoOccurrenceIndex coOccurrence;
+
+    @Autowired
+    private CachingCatalogRepository catalog;
+
+    @Autowired
+    private BookSearchIndex searchIndex;
+
+    @Autowired
+    private BookSuggestIndex suggestIndex;
+
+    @Autowired
+    private BookFacetIndex facetIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long first;
+    private long second;
+    private long third;
+
+    @BeforeEach
+    void setUp() {
+        // Нові книги без коментарів - у графі в них ще немає сусідів
+        first = catalog.save(new Book(null, "Co-occurrence IT 1", "Tester", null, 2024)).getId();
+        second = catalog.save(new Book(null, "Co-occurrence IT 2", "Tester", null, 2024)).getId();
+        third = catalog.save(new Book(null, "Co-occurrence IT 3", "Tester", null, 2024)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Коментарі та статистика книг видаляються каскадом
+        for (long bookId : new long[]{first, second, third}) {
+            jdbcTemplate.update("DELETE FROM books WHERE id = ?", bookId);
+            searchIndex.remove(bookId);
+            suggestIndex.remove(bookId);
+            facetIndex.remove(bookId);
+        }
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", AUTHOR_PREFIX + "%");
+        catalog.invalidate();
+        entityManagerFactory.getCache().evictAll();
+        coOccurrence.rebuild();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    @DisplayName("Коментарі додають і прибирають зв'язки, перебудова дає той самий граф")
+    void коментарі_оновлюють_граф_як_і_перебудова() throws Exception {
+        comments.addComment(first, AUTHOR_PREFIX + "a", "co-occurrence-it 1");
+        Comment removed = comments.addComment(second, AUTHOR_PREFIX + "a", "co-occurrence-it 2");
+        // Порція з черги асинхронного запису - пакетна вставка зі згенерованими id
+        comments.addComments(List.of(
+                new Comment(null, third, AUTHOR_PREFIX + "b", "co-occurrence-it 3", LocalDateTime.now()),
+                new Comment(null, first, AUTHOR_PREFIX + "b", "co-occurrence-it 4", LocalDateTime.now())));
+
+        assertArrayEquals(new long[]{second, third}, coOccurrence.neighbours(first, 5));
+        assertArrayEquals(new long[]{first}, coOccurrence.neighbours(second, 5));
+
+        MvcResult page = mockMvc.perform(get("/books/{id}", first))
+                .andExpect(status().isOk())
+                .andReturn();
+        @SuppressWarnings("unchecked")
+        List<Book> alsoDiscussed = (List<Book>) page.getModelAndView().getModel().get("alsoDiscussed");
+        assertEquals(List.of(second, third), alsoDiscussed.stream().map(Book::getId).toList());
+
+        assertTrue(comments.deleteComment(removed.getId()));
+
+        assertArrayEquals(new long[]{third}, coOccurrence.neighbours(first, 5));
+        assertArrayEquals(new long[0], coOccurrence.neighbours(second, 5));
+
+        mockMvc.perform(post("/api/admin/maintenance/recommendations").with(csrf()))
+                .andExpect(status().isOk());
+
+        assertArrayEquals(new long[]{third}, coOccurrence.neighbours(first, 5));
+        assertArrayEquals(new long[0], coOccurrence.neighbours(second, 5));
+    }
+}
\ No newline at end of file
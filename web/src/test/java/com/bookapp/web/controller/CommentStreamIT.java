@@ -0,0 +1,142 @@
+package com.bookapp.web.controller;
+
+import com.bookapp.core.domain.Comment;
+import com.bookapp.web.BookCatalogApplication;
+import com.bookapp.web.stream.CommentStreamRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = BookCatalogApplication.class, properties = {
+        "app.comments.stream.max-subscribers=2",
+        "app.comments.stream.buffer-size=2",
+        "app.comments.stream.heartbeat-seconds=3600"
+})
+@AutoConfigureMockMvc
+@DisplayName("Інтеграційні тести живих коментарів (SSE)")
+class CommentStreamIT {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CommentStreamRegistry registry;
+
+    private final List<MvcResult> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        // Завершення асинхронного запиту знімає підписку, як закрита вкладка
+        for (MvcResult result : opened) {
+            if (result.getRequest().isAsyncStarted()) {
+                result.getRequest().getAsyncContext().complete();
+            }
+        }
+        await(() -> registry.subscriberCount() == 0);
+    }
+
+    @Test
+    @WithMockUser(username = "ivan", roles = "USER")
+    @DisplayName("Коментар надходить лише підписникам своєї книги")
+    void коментар_надходить_лише_підписникам_своєї_книги() throws Exception {
+        MvcResult first = subscribe(1L);
+        MvcResult second = subscribe(2L);
+
+        registry.commentsAdded(List.of(new Comment(1L, 1L, "ivan", "stream-it fan-out", LocalDateTime.now())));
+
+        await(() -> content(first).contains("stream-it fan-out"));
+        assertTrue(content(first).contains("event:comment"));
+        assertFalse(content(second).contains("stream-it fan-out"));
+    }
+
+    @Test
+    @WithMockUser(username = "ivan", roles = "USER")
+    @DisplayName("Повільний підписник з переповненим буфером відключається")
+    void повільний_підписник_відключається() throws Exception {
+        long evictedBefore = registry.evictedCount();
+        subscribe(1L);
+
+        // Буфер на дві події: пачка коментарів одним викликом переповнює його швидше, ніж пул відправляє
+        List<Comment> burst = new ArrayList<>();
+        for (long i = 0; i < 10_000; i++) {
+            burst.add(new Comment(i + 1, 1L, "ivan", "stream-it burst " + i, LocalDateTime.now()));
+        }
+        registry.commentsAdded(burst);
+
+        assertTrue(registry.evictedCount() > evictedBefore);
+        await(() -> registry.subscriberCount() == 0);
+    }
+
+    @Test
+    @WithMockUser(username = "ivan", roles = "USER")
+    @DisplayName("Невідома книга - 404")
+    void невідома_книга_404() throws Exception {
+        mockMvc.perform(get("/api/books/999999/comments/stream"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(0, registry.subscriberCount());
+    }
+
+    @Test
+    @WithMockUser(username = "ivan", roles = "USER")
+    @DisplayName("Понад ліміт підписників - 503 з Retry-After")
+    void понад_ліміт_підписників_503() throws Exception {
+        subscribe(1L);
+        subscribe(2L);
+
+        mockMvc.perform(get("/api/books/1/comments/stream"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"));
+
+        assertEquals(2, registry.subscriberCount());
+    }
+
+    private MvcResult subscribe(Long bookId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/books/{id}/comments/stream", bookId))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andReturn();
+        opened.add(result);
+        return result;
+    }
+
+    private static String content(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met in " + TIMEOUT_MILLIS + " ms");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.bookapp.web.controller;
+
+import com.bookapp.core.domain.Comment;
+import com.bookapp.web.BookCatalogApplication;
+import com.bookapp.web.stream.CommentStreamRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.CookieManager;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = BookCatalogApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "app.comments.stream.sender-threads=1",
+                "app.comments.stream.buffer-size=64",
+                "app.comments.stream.send-timeout-ms=500",
+                "app.comments.stream.heartbeat-seconds=3600"
+        })
+@DisplayName("Інтеграційні тести живих коментарів: клієнт, що не читає")
+class CommentStreamSlowClientIT {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CommentStreamRegistry registry;
+
+    private Socket stalled;
+    private InputStream healthy;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        // Закрите з'єднання сервер помічає на наступній відправці - пінгу
+        if (stalled != null) {
+            stalled.close();
+        }
+        if (healthy != null) {
+            healthy.close();
+        }
+        registry.commentsAdded(List.of(new Comment(0L, 1L, "ivan", "slow-client-it close", LocalDateTime.now())));
+        await(() -> registry.subscriberCount() == 0);
+    }
+
+    @Test
+    @DisplayName("Клієнт, що не читає, відключається і не затримує решту підписників")
+    void клієнт_що_не_читає_не_затримує_інших() throws Exception {
+        long evictedBefore = registry.evictedCount();
+
+        // Справжнє з'єднання: клієнт дочитує перший пінг і більше не читає
+        stalled = new Socket();
+        stalled.connect(new InetSocketAddress("localhost", port));
+        OutputStream out = stalled.getOutputStream();
+        out.write(("GET /api/books/1/comments/stream HTTP/1.1\r\n" +
+                "Host: localhost:" + port + "\r\n" +
+                "Accept: text/event-stream\r\n" +
+                "Cookie: JSESSIONID=" + login("ivan", "password123") + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        readUntil(stalled.getInputStream(), ":ping");
+        assertEquals(1, registry.subscriberCount());
+
+        // ~10 МБ - більше, ніж вміщають буфери сокетів: єдиний потік пулу застрягає в send()
+        String text = "x".repeat(256 * 1024);
+        for (long i = 0; i < 40; i++) {
+            registry.commentsAdded(List.of(
+                    new Comment(i + 1, 1L, "ivan", "slow-client-it " + i + " " + text, LocalDateTime.now())));
+        }
+
+        // Звичайний клієнт читає потік у фоні. Заголовки йдуть з першим пінгом, тож без потоку
+        // на заміну завислому відповіді не було б до тайм-ауту запису Tomcat
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().sendAsync(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/books/1/comments/stream"))
+                        .header("Accept", "text/event-stream")
+                        .header("Cookie", "JSESSIONID=" + login("ivan", "password123"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofInputStream()).get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertEquals(200, response.statusCode());
+        healthy = response.body();
+        AtomicBoolean received = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader lines = new BufferedReader(new InputStreamReader(healthy, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    if (line.contains("slow-client-it marker")) {
+                        received.set(true);
+                    }
+                }
+            } catch (Exception e) {
+                // Потік закрито в tearDown
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+
+        registry.commentsAdded(List.of(new Comment(100L, 1L, "ivan", "slow-client-it marker", LocalDateTime.now())));
+
+        await(received::get);
+        assertTrue(registry.evictedCount() > evictedBefore);
+        await(() -> registry.subscriberCount() == 1);
+    }
+
+    private static void readUntil(InputStream in, String marker) throws Exception {
+        StringBuilder head = new StringBuilder();
+        int b;
+        while (head.indexOf(marker) < 0 && (b = in.read()) != -1) {
+            head.append((char) b);
+        }
+        assertTrue(head.toString().startsWith("HTTP/1.1 200"), head.toString());
+    }
+
+    // Вхід через форму; повертає id сесії
+    private String login(String username, String password) throws Exception {
+        CookieManager cookies = new CookieManager();
+        HttpClient client = HttpClient.newBuilder().cookieHandler(cookies).build();
+        URI loginUri = URI.create("http://localhost:" + port + "/login");
+
+        String page = client.send(HttpRequest.newBuilder(loginUri).build(), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher csrf = CSRF.matcher(page);
+        assertTrue(csrf.find());
+
+        String form = "username=" + username + "&password=" + password +
+                "&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(loginUri)
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(302, response.statusCode());
+        assertTrue(response.headers().firstValue("Location").orElse("").endsWith("/books"));
+
+        return cookies.getCookieStore().getCookies().stream()
+                .filter(cookie -> cookie.getName().equals("JSESSIONID"))
+                .findFirst()
+                .orElseThrow()
+                .getValue();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met in " + TIMEOUT_MILLIS + " ms");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
\ No newline at end of file